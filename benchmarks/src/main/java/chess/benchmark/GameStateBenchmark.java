@@ -0,0 +1,96 @@
+package chess.benchmark;
+
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.Fen;
+import chess.GameStatus;
+import chess.MoveCollection;
+import chess.MoveList;
+import chess.Perft;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the public game queries: legal moves for every piece of the side to move, one square
+ * at a time and all at once, the checkmate and stalemate tests for the side to move, and the
+ * status of a fresh position. The status of the benchmarked position itself is kept after the
+ * first call, so the checkmate and stalemate benchmarks measure the memoized path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameStateBenchmark {
+
+    @Param({"start", "kiwipete", "position3", "position4", "position5", "position6"})
+    public String position;
+
+    private ChessGame game;
+    private ChessPosition[] ownPieces;
+    private int[] replies;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        game = Fen.toGame(Perft.referencePosition(position).fen());
+        ownPieces = new ChessPosition[16];
+        int count = 0;
+        for (int row = 1; row <= 8; row++) {
+            for (int col = 1; col <= 8; col++) {
+                ChessPiece piece = game.getBoard().getPiece(new ChessPosition(row, col));
+                if (piece != null && piece.getTeamColor() == game.getTeamTurn()) {
+                    ownPieces[count++] = new ChessPosition(row, col);
+                }
+            }
+        }
+        ownPieces = Arrays.copyOf(ownPieces, count);
+
+        MoveList moves = new MoveList();
+        game.legalMoves(moves);
+        replies = new int[]{moves.get(0), moves.get(1)};
+    }
+
+    @Benchmark
+    public void validMoves(Blackhole blackhole) {
+        for (ChessPosition position : ownPieces) {
+            blackhole.consume(game.validMoves(position));
+        }
+    }
+
+    @Benchmark
+    public void validMoveCollection(Blackhole blackhole) {
+        for (ChessPosition position : ownPieces) {
+            blackhole.consume(game.validMoveCollection(position));
+        }
+    }
+
+    @Benchmark
+    public MoveCollection allValidMoves() {
+        return game.allValidMoves(game.getTeamTurn());
+    }
+
+    @Benchmark
+    public boolean isInCheckmate() {
+        return game.isInCheckmate(game.getTeamTurn());
+    }
+
+    @Benchmark
+    public boolean isInStalemate() {
+        return game.isInStalemate(game.getTeamTurn());
+    }
+
+    // Alternates between two moves, so every call works out the status of a position it has not just seen
+    @Benchmark
+    public GameStatus statusAfterMove() {
+        game.makeMove(replies[next++ & 1]);
+        GameStatus status = game.getStatus();
+        game.unmakeMove();
+        return status;
+    }
+}
@@ -0,0 +1,52 @@
+package chess.benchmark;
+
+import chess.ChessGame;
+import chess.Fen;
+import chess.Perft;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times perft on each reference position. The {@code nodes} counter is reported as a rate, which
+ * is the move generator's nodes per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PerftBenchmark {
+
+    @Param({"start", "kiwipete", "position3", "position4", "position5", "position6"})
+    public String position;
+
+    @Param({"3"})
+    public int depth;
+
+    private ChessGame game;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Nodes {
+        public long nodes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        game = Fen.toGame(Perft.referencePosition(position).fen());
+    }
+
+    @Benchmark
+    public long perft(Nodes counter) {
+        long nodes = Perft.perft(game, depth);
+        counter.nodes += nodes;
+        return nodes;
+    }
+}
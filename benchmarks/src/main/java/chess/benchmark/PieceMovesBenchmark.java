@@ -0,0 +1,86 @@
+package chess.benchmark;
+
+import chess.ChessBoard;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.Fen;
+import chess.MoveList;
+import chess.Perft;
+import chess.validmovescalculator.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times each {@link PieceMovesCalculator} on every piece of its type in a reference position,
+ * both through the allocation-free {@link MoveList} overload and the collection-returning one.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PieceMovesBenchmark {
+
+    @Param({"KING", "QUEEN", "BISHOP", "KNIGHT", "ROOK", "PAWN"})
+    public ChessPiece.PieceType type;
+
+    @Param({"kiwipete"})
+    public String position;
+
+    private ChessBoard board;
+    private PieceMovesCalculator calculator;
+    private ChessPosition[] pieces;
+    private final MoveList moves = new MoveList();
+
+    @Setup
+    public void setUp() {
+        board = Fen.toGame(Perft.referencePosition(position).fen()).getBoard();
+        calculator = switch (type) {
+            case KING -> KingValidMovesCalculator.INSTANCE;
+            case QUEEN -> QueenValidMovesCalculator.INSTANCE;
+            case BISHOP -> BishopValidMovesCalculator.INSTANCE;
+            case KNIGHT -> KnightValidMovesCalculator.INSTANCE;
+            case ROOK -> RookValidMovesCalculator.INSTANCE;
+            case PAWN -> PawnValidMovesCalculator.INSTANCE;
+        };
+
+        List<ChessPosition> found = new ArrayList<>();
+        for (int row = 1; row <= 8; row++) {
+            for (int col = 1; col <= 8; col++) {
+                ChessPiece piece = board.getPiece(new ChessPosition(row, col));
+                if (piece != null && piece.getPieceType() == type) {
+                    found.add(new ChessPosition(row, col));
+                }
+            }
+        }
+        pieces = found.toArray(new ChessPosition[0]);
+    }
+
+    @Benchmark
+    public int packedMoves() {
+        moves.clear();
+        for (ChessPosition piece : pieces) {
+            calculator.pieceMoves(board, piece, moves);
+        }
+        return moves.size();
+    }
+
+    @Benchmark
+    public void collectionMoves(Blackhole blackhole) {
+        for (ChessPosition piece : pieces) {
+            blackhole.consume(calculator.pieceMoves(board, piece));
+        }
+    }
+
+    @Benchmark
+    public void moveCollections(Blackhole blackhole) {
+        for (ChessPosition piece : pieces) {
+            blackhole.consume(calculator.pieceMoveCollection(board, piece));
+        }
+    }
+}
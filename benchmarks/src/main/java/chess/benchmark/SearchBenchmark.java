@@ -0,0 +1,61 @@
+package chess.benchmark;
+
+import chess.ChessGame;
+import chess.Fen;
+import chess.Perft;
+import chess.engine.ParallelSearch;
+import chess.engine.SearchLimits;
+import chess.engine.SearchResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time to depth for the parallel search as the thread count grows. Each invocation
+ * starts from an empty transposition table, so the numbers compare like with like. The
+ * {@code nodes} counter reports the nodes per second of all threads together.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int threads;
+
+    @Param({"kiwipete", "position6"})
+    public String position;
+
+    @Param({"7"})
+    public int depth;
+
+    private ChessGame game;
+    private ParallelSearch search;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Nodes {
+        public long nodes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        game = Fen.toGame(Perft.referencePosition(position).fen());
+        search = new ParallelSearch(threads);
+    }
+
+    @Benchmark
+    public SearchResult timeToDepth(Nodes counter) {
+        SearchResult result = search.search(game, SearchLimits.depth(depth));
+        counter.nodes += result.nodes();
+        return result;
+    }
+}
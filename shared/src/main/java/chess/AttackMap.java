@@ -0,0 +1,104 @@
+package chess;
+
+import java.util.Arrays;
+
+/**
+ * An incrementally maintained map of which squares each team attacks.
+ * <p>
+ * The map remembers the attack set of the piece on every square and how many pieces of each team
+ * attack every square. When a square changes, only the piece on that square and the sliding pieces
+ * whose rays reach it are recomputed, so asking whether a square (for example a king's square) is
+ * attacked is a single mask test after each move.
+ * <p>
+ * Enable it for a board with {@link ChessBoard#enableAttackMap()}. It pays off when attack or check
+ * status is read often between moves; plain legality filtering is cheaper without it.
+ */
+public final class AttackMap {
+
+    private final long[] attacksFrom = new long[64];
+    private final byte[] attackerTeam = new byte[64];
+    private final byte[][] attackCounts = new byte[2][64];
+    private final long[] attacked = new long[2];
+
+    AttackMap(BitboardPosition bitboards) {
+        rebuild(bitboards);
+    }
+
+    /**
+     * @param square  The 0-63 square index being attacked.
+     * @param byColor The attacking team.
+     * @return True if at least one piece of the team attacks the square.
+     */
+    public boolean isAttacked(int square, ChessGame.TeamColor byColor) {
+        return (attacked[BitboardPosition.teamIndex(byColor)] & (1L << square)) != 0;
+    }
+
+    /**
+     * @param byColor The attacking team.
+     * @return The set of squares attacked by at least one piece of the team.
+     */
+    public long getAttacks(ChessGame.TeamColor byColor) {
+        return attacked[BitboardPosition.teamIndex(byColor)];
+    }
+
+    /**
+     * Recomputes the whole map from scratch.
+     */
+    void rebuild(BitboardPosition bitboards) {
+        Arrays.fill(attacksFrom, 0);
+        Arrays.fill(attackCounts[BitboardPosition.WHITE], (byte) 0);
+        Arrays.fill(attackCounts[BitboardPosition.BLACK], (byte) 0);
+        attacked[BitboardPosition.WHITE] = 0;
+        attacked[BitboardPosition.BLACK] = 0;
+        for (long occupied = bitboards.getOccupied(); occupied != 0; occupied &= occupied - 1) {
+            recompute(bitboards, Long.numberOfTrailingZeros(occupied));
+        }
+    }
+
+    /**
+     * Brings the map up to date after the contents of one square changed.
+     */
+    void squareChanged(BitboardPosition bitboards, int square) {
+        recompute(bitboards, square);
+
+        // Sliders that reach the square either gained or lost a blocker there
+        long occupied = bitboards.getOccupied();
+        long queens = bitboards.getPieces(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN)
+                | bitboards.getPieces(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN);
+        long rooks = bitboards.getPieces(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK)
+                | bitboards.getPieces(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK) | queens;
+        long bishops = bitboards.getPieces(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP)
+                | bitboards.getPieces(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP) | queens;
+        long sliders = (MagicBitboards.rookAttacks(square, occupied) & rooks)
+                | (MagicBitboards.bishopAttacks(square, occupied) & bishops);
+        for (sliders &= ~(1L << square); sliders != 0; sliders &= sliders - 1) {
+            recompute(bitboards, Long.numberOfTrailingZeros(sliders));
+        }
+    }
+
+    // Swaps the old attack set of a square's piece out of the counts and the new one in
+    private void recompute(BitboardPosition bitboards, int square) {
+        int oldTeam = attackerTeam[square];
+        for (long bits = attacksFrom[square]; bits != 0; bits &= bits - 1) {
+            int target = Long.numberOfTrailingZeros(bits);
+            if (--attackCounts[oldTeam][target] == 0) {
+                attacked[oldTeam] &= ~(1L << target);
+            }
+        }
+
+        int pieceIndex = bitboards.pieceIndexAt(square);
+        if (pieceIndex < 0) {
+            attacksFrom[square] = 0;
+            return;
+        }
+        int team = pieceIndex / BitboardPosition.PIECE_TYPES;
+        long attacks = BitboardPosition.attacksFrom(pieceIndex, square, bitboards.getOccupied());
+        attacksFrom[square] = attacks;
+        attackerTeam[square] = (byte) team;
+        for (long bits = attacks; bits != 0; bits &= bits - 1) {
+            int target = Long.numberOfTrailingZeros(bits);
+            attackCounts[team][target]++;
+        }
+        attacked[team] |= attacks;
+    }
+}
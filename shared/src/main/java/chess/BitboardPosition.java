@@ -0,0 +1,313 @@
+package chess;
+
+import java.util.Arrays;
+
+/**
+ * A bitboard representation of the pieces on a chessboard.
+ * <p>
+ * Each of the twelve piece kinds (six piece types for each team) is stored as a 64-bit set
+ * where bit {@code (row - 1) * 8 + (column - 1)} marks an occupied square. Occupancy masks
+ * for each team and for the whole board are kept alongside so that attack and legality
+ * questions can be answered with bitwise operations instead of walking {@link ChessPiece} objects.
+ * <p>
+ * Instances handed out by {@link ChessBoard#getBitboards()} are kept in sync with the board
+ * and should be treated as read-only.
+ */
+public class BitboardPosition {
+
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    private static final ChessPiece.PieceType[] TYPES = ChessPiece.PieceType.values();
+    static final int PIECE_TYPES = TYPES.length;
+
+    static final long[] KNIGHT_ATTACKS = new long[64];
+    static final long[] KING_ATTACKS = new long[64];
+    static final long[][] PAWN_ATTACKS = new long[2][64];
+
+    static {
+        int[][] knightOffsets = {{2, 1}, {2, -1}, {-2, 1}, {-2, -1}, {1, 2}, {1, -2}, {-1, 2}, {-1, -2}};
+        int[][] kingOffsets = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}, {1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+        for (int square = 0; square < 64; square++) {
+            KNIGHT_ATTACKS[square] = offsetAttacks(square, knightOffsets);
+            KING_ATTACKS[square] = offsetAttacks(square, kingOffsets);
+            PAWN_ATTACKS[WHITE][square] = offsetAttacks(square, new int[][]{{1, -1}, {1, 1}});
+            PAWN_ATTACKS[BLACK][square] = offsetAttacks(square, new int[][]{{-1, -1}, {-1, 1}});
+        }
+    }
+
+    private final long[] pieces = new long[2 * PIECE_TYPES];
+    private final long[] teams = new long[2];
+    private long occupied;
+
+    public BitboardPosition() {
+
+    }
+
+    private BitboardPosition(BitboardPosition other) {
+        System.arraycopy(other.pieces, 0, this.pieces, 0, this.pieces.length);
+        this.teams[WHITE] = other.teams[WHITE];
+        this.teams[BLACK] = other.teams[BLACK];
+        this.occupied = other.occupied;
+    }
+
+    /**
+     * Builds the bitboard representation of a chessboard.
+     *
+     * @param board The board to convert.
+     * @return A new position holding the same pieces as the board.
+     */
+    public static BitboardPosition fromBoard(ChessBoard board) {
+        BitboardPosition position = new BitboardPosition();
+        for (int square = 0; square < 64; square++) {
+            ChessPiece piece = board.getPiece(positionOf(square));
+            if (piece != null) {
+                position.put(square, piece);
+            }
+        }
+        return position;
+    }
+
+    /**
+     * @return A new chessboard holding the same pieces as this position.
+     */
+    public ChessBoard toBoard() {
+        ChessBoard board = new ChessBoard();
+        for (int square = 0; square < 64; square++) {
+            ChessPiece piece = pieceAt(square);
+            if (piece != null) {
+                board.addPiece(positionOf(square), piece);
+            }
+        }
+        return board;
+    }
+
+    /**
+     * @return An independent copy of this position.
+     */
+    public BitboardPosition copy() {
+        return new BitboardPosition(this);
+    }
+
+    /**
+     * @param position A 1-indexed board position.
+     * @return The 0-63 square index of the position.
+     */
+    public static int squareOf(ChessPosition position) {
+        return squareOf(position.getRow(), position.getColumn());
+    }
+
+    public static int squareOf(int row, int col) {
+        return (row - 1) * 8 + (col - 1);
+    }
+
+    public static ChessPosition positionOf(int square) {
+        return ChessPosition.ofSquare(square);
+    }
+
+    public static int teamIndex(ChessGame.TeamColor color) {
+        return color == ChessGame.TeamColor.WHITE ? WHITE : BLACK;
+    }
+
+    public static int pieceIndex(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return teamIndex(color) * PIECE_TYPES + type.ordinal();
+    }
+
+    /**
+     * @return The set of squares holding pieces of the given team and type.
+     */
+    public long getPieces(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return pieces[pieceIndex(color, type)];
+    }
+
+    /**
+     * @return The set of squares holding pieces of the given team.
+     */
+    public long getOccupancy(ChessGame.TeamColor color) {
+        return teams[teamIndex(color)];
+    }
+
+    /**
+     * @return The set of squares holding any piece.
+     */
+    public long getOccupied() {
+        return occupied;
+    }
+
+    /**
+     * @param square The 0-63 square index to look at.
+     * @return The piece on the square, or null if the square is empty.
+     */
+    public ChessPiece pieceAt(int square) {
+        int index = pieceIndexAt(square);
+        if (index < 0) return null;
+        ChessGame.TeamColor color = index < PIECE_TYPES ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+        return ChessPiece.of(color, TYPES[index % PIECE_TYPES]);
+    }
+
+    /**
+     * @return The piece index (see {@link #pieceIndex}) of the piece on the square, or -1 if it is empty.
+     */
+    int pieceIndexAt(int square) {
+        long bit = 1L << square;
+        if ((occupied & bit) == 0) return -1;
+        for (int index = 0; index < pieces.length; index++) {
+            if ((pieces[index] & bit) != 0) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param pieceIndex The piece index (see {@link #pieceIndex}) of the attacking piece.
+     * @param square     The 0-63 square the piece stands on.
+     * @param occupied   The set of occupied squares, which blocks sliding pieces.
+     * @return The set of squares the piece attacks.
+     */
+    static long attacksFrom(int pieceIndex, int square, long occupied) {
+        return switch (TYPES[pieceIndex % PIECE_TYPES]) {
+            case KING -> KING_ATTACKS[square];
+            case QUEEN -> MagicBitboards.queenAttacks(square, occupied);
+            case BISHOP -> MagicBitboards.bishopAttacks(square, occupied);
+            case KNIGHT -> KNIGHT_ATTACKS[square];
+            case ROOK -> MagicBitboards.rookAttacks(square, occupied);
+            case PAWN -> PAWN_ATTACKS[pieceIndex / PIECE_TYPES][square];
+        };
+    }
+
+    /**
+     * Places a piece on a square, replacing whatever was there.
+     */
+    void put(int square, ChessPiece piece) {
+        clear(square);
+        if (piece == null) return;
+        long bit = 1L << square;
+        pieces[pieceIndex(piece.getTeamColor(), piece.getPieceType())] |= bit;
+        teams[teamIndex(piece.getTeamColor())] |= bit;
+        occupied |= bit;
+    }
+
+    /**
+     * Removes whatever piece is on a square.
+     */
+    void clear(int square) {
+        long bit = 1L << square;
+        if ((occupied & bit) == 0) return;
+        long keep = ~bit;
+        for (int index = 0; index < pieces.length; index++) {
+            pieces[index] &= keep;
+        }
+        teams[WHITE] &= keep;
+        teams[BLACK] &= keep;
+        occupied &= keep;
+    }
+
+    /**
+     * Finds every piece of a team that attacks a square, looking outward from the square
+     * with each piece's movement pattern.
+     *
+     * @param square  The 0-63 square index being attacked.
+     * @param byColor The attacking team.
+     * @return The set of squares holding attackers.
+     */
+    public long attackersTo(int square, ChessGame.TeamColor byColor) {
+        int team = teamIndex(byColor);
+        int base = team * PIECE_TYPES;
+        long queens = pieces[base + ChessPiece.PieceType.QUEEN.ordinal()];
+        long rooks = pieces[base + ChessPiece.PieceType.ROOK.ordinal()] | queens;
+        long bishops = pieces[base + ChessPiece.PieceType.BISHOP.ordinal()] | queens;
+
+        return (KNIGHT_ATTACKS[square] & pieces[base + ChessPiece.PieceType.KNIGHT.ordinal()])
+                | (KING_ATTACKS[square] & pieces[base + ChessPiece.PieceType.KING.ordinal()])
+                | (PAWN_ATTACKS[team ^ 1][square] & pieces[base + ChessPiece.PieceType.PAWN.ordinal()])
+                | (MagicBitboards.rookAttacks(square, occupied) & rooks)
+                | (MagicBitboards.bishopAttacks(square, occupied) & bishops);
+    }
+
+    /**
+     * Checks whether any piece of a team attacks a square. Works outward from the square, trying the
+     * cheap leaper patterns (knight, pawn, king) before the sliding rays, and stops at the first attacker.
+     *
+     * @param square  The 0-63 square index being attacked.
+     * @param byColor The attacking team.
+     * @return True if at least one piece of the team attacks the square.
+     */
+    public boolean isSquareAttacked(int square, ChessGame.TeamColor byColor) {
+        return isSquareAttacked(square, byColor, occupied);
+    }
+
+    /**
+     * Like {@link #isSquareAttacked(int, ChessGame.TeamColor)}, but with sliding pieces blocked by the
+     * given occupancy instead of the board's, to ask what would be attacked if pieces were moved.
+     */
+    boolean isSquareAttacked(int square, ChessGame.TeamColor byColor, long occupied) {
+        int team = teamIndex(byColor);
+        int base = team * PIECE_TYPES;
+        if ((KNIGHT_ATTACKS[square] & pieces[base + ChessPiece.PieceType.KNIGHT.ordinal()]) != 0) return true;
+        if ((PAWN_ATTACKS[team ^ 1][square] & pieces[base + ChessPiece.PieceType.PAWN.ordinal()]) != 0) return true;
+        if ((KING_ATTACKS[square] & pieces[base + ChessPiece.PieceType.KING.ordinal()]) != 0) return true;
+
+        long queens = pieces[base + ChessPiece.PieceType.QUEEN.ordinal()];
+        long rooks = pieces[base + ChessPiece.PieceType.ROOK.ordinal()] | queens;
+        if (rooks != 0 && (MagicBitboards.rookAttacks(square, occupied) & rooks) != 0) return true;
+        long bishops = pieces[base + ChessPiece.PieceType.BISHOP.ordinal()] | queens;
+        return bishops != 0 && (MagicBitboards.bishopAttacks(square, occupied) & bishops) != 0;
+    }
+
+    /**
+     * @param color The team whose king is checked.
+     * @return True if the team has a king and it is attacked by the other team.
+     */
+    public boolean isInCheck(ChessGame.TeamColor color) {
+        long king = getPieces(color, ChessPiece.PieceType.KING);
+        if (king == 0) return false;
+        return isSquareAttacked(Long.numberOfTrailingZeros(king), opponent(color));
+    }
+
+    public static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    public static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    /**
+     * @return The squares a pawn of the given team attacks diagonally from the square.
+     */
+    public static long pawnAttacks(ChessGame.TeamColor color, int square) {
+        return PAWN_ATTACKS[teamIndex(color)][square];
+    }
+
+    public static ChessGame.TeamColor opponent(ChessGame.TeamColor color) {
+        return color == ChessGame.TeamColor.WHITE ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+    }
+
+    private static long offsetAttacks(int square, int[][] offsets) {
+        long attacks = 0;
+        int row = square >>> 3;
+        int col = square & 7;
+        for (int[] offset : offsets) {
+            int newRow = row + offset[0];
+            int newCol = col + offset[1];
+            if (newRow >= 0 && newRow < 8 && newCol >= 0 && newCol < 8) {
+                attacks |= 1L << (newRow * 8 + newCol);
+            }
+        }
+        return attacks;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BitboardPosition)) return false;
+        BitboardPosition that = (BitboardPosition) o;
+        return Arrays.equals(pieces, that.pieces);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(pieces);
+    }
+}
@@ -9,7 +9,40 @@ import java.util.Arrays;
  * signature of the existing methods.
  */
 public class ChessBoard implements Cloneable{
+
+    /** Castling right bits, as returned by {@link #getCastlingRights()}. */
+    public static final int WHITE_KINGSIDE = 1;
+    public static final int WHITE_QUEENSIDE = 2;
+    public static final int BLACK_KINGSIDE = 4;
+    public static final int BLACK_QUEENSIDE = 8;
+    public static final int ALL_CASTLING = 15;
+
+    // The rights each square keeps when a piece moves from or to it: moving a king or rook, or
+    // capturing a rook, on its starting square gives up that side's castling for good
+    private static final int[] CASTLING_KEPT = new int[64];
+
+    static {
+        Arrays.fill(CASTLING_KEPT, ALL_CASTLING);
+        CASTLING_KEPT[4] = ~(WHITE_KINGSIDE | WHITE_QUEENSIDE) & ALL_CASTLING;
+        CASTLING_KEPT[7] = ~WHITE_KINGSIDE & ALL_CASTLING;
+        CASTLING_KEPT[0] = ~WHITE_QUEENSIDE & ALL_CASTLING;
+        CASTLING_KEPT[60] = ~(BLACK_KINGSIDE | BLACK_QUEENSIDE) & ALL_CASTLING;
+        CASTLING_KEPT[63] = ~BLACK_KINGSIDE & ALL_CASTLING;
+        CASTLING_KEPT[56] = ~BLACK_QUEENSIDE & ALL_CASTLING;
+    }
+
     private ChessPiece[][] squares = new ChessPiece[8][8];
+    private BitboardPosition bitboards = new BitboardPosition();
+    private final UndoStack undoStack = new UndoStack();
+    private AttackMap attackMap;
+    private final int[] kingSquares = {-1, -1};
+    private long zobristKey;
+    private int middlegameScore;
+    private int endgameScore;
+    private int gamePhase;
+    private long materialSignature;
+    private int castlingRights = ALL_CASTLING;
+    private int enPassantSquare = -1;
     public ChessBoard() {
 
     }
@@ -21,28 +54,289 @@ public class ChessBoard implements Cloneable{
      * @param piece    the piece to add
      */
     public void addPiece(ChessPosition position, ChessPiece piece) {
-        squares[position.getRow() - 1][position.getColumn() - 1] = piece;
+        setSquare(BitboardPosition.squareOf(position), piece);
     }
     public void removePiece(ChessPosition position, ChessPiece piece)throws InvalidMoveException {
         if (squares[position.getRow() - 1][position.getColumn() - 1].getPieceType() == piece.getPieceType() && squares[position.getRow() - 1][position.getColumn() - 1].getTeamColor() == piece.getTeamColor()) {
-            squares[position.getRow() - 1][position.getColumn() - 1] = null;
+            setSquare(BitboardPosition.squareOf(position), null);
         } else {
             throw new InvalidMoveException("The piece trying to be removed does not exist.");
         }
 
     }
 
+    /**
+     * Makes a move on the board in place without checking that it is legal. The captured piece
+     * and the moved piece are recorded so the move can be taken back with {@link #unmakeMove()}.
+     *
+     * @param move the move to make; its start position must hold a piece
+     */
+    public void makeMove(ChessMove move) {
+        makeMove(BitboardPosition.squareOf(move.getStartPosition()), BitboardPosition.squareOf(move.getEndPosition()),
+                move.getPromotionPiece());
+    }
+
+    /**
+     * Makes a {@link PackedMove packed move} on the board in place without checking that it is legal.
+     *
+     * @param move the packed move to make; its start square must hold a piece
+     */
+    public void makeMove(int move) {
+        makeMove(PackedMove.from(move), PackedMove.to(move), PackedMove.promotion(move));
+    }
+
+    // A king moving two squares castles and brings its rook along; a pawn moving diagonally onto
+    // the en passant square captures the pawn beside it. Both are told from the move itself.
+    void makeMove(int from, int to, ChessPiece.PieceType promotion) {
+        ChessPiece moved = squares[from >>> 3][from & 7];
+        ChessPiece.PieceType type = moved.getPieceType();
+        boolean enPassant = type == ChessPiece.PieceType.PAWN && to == enPassantSquare && ((from ^ to) & 7) != 0;
+        int capturedSquare = enPassant ? enPassantCapturedSquare(from, to) : to;
+        undoStack.push(from, to, moved, squares[capturedSquare >>> 3][capturedSquare & 7], castlingRights, enPassantSquare);
+        if (enPassant) {
+            setSquare(capturedSquare, null);
+        } else if (type == ChessPiece.PieceType.KING && Math.abs(to - from) == 2) {
+            int rookFrom = to > from ? from + 3 : from - 4;
+            setSquare((from + to) >>> 1, squares[rookFrom >>> 3][rookFrom & 7]);
+            setSquare(rookFrom, null);
+        }
+        setSquare(to, promotion == null ? moved : ChessPiece.of(moved.getTeamColor(), promotion));
+        setSquare(from, null);
+        castlingRights &= CASTLING_KEPT[from] & CASTLING_KEPT[to];
+        enPassantSquare = type == ChessPiece.PieceType.PAWN && Math.abs(to - from) == 16 ? (from + to) >>> 1 : -1;
+    }
+
+    /**
+     * Takes back the most recent move made with {@link #makeMove(ChessMove)}, restoring the
+     * moved piece (un-promoting it if needed) and any captured piece, as well as the castling
+     * rights and en passant square from before the move.
+     *
+     * @throws IllegalStateException if there is no move to take back
+     */
+    public void unmakeMove() {
+        int entry = undoStack.pop();
+        int from = undoStack.from(entry);
+        int to = undoStack.to(entry);
+        ChessPiece moved = undoStack.moved(entry);
+        castlingRights = undoStack.castlingRights(entry);
+        enPassantSquare = undoStack.enPassantSquare(entry);
+        setSquare(from, moved);
+        ChessPiece.PieceType type = moved.getPieceType();
+        if (type == ChessPiece.PieceType.PAWN && to == enPassantSquare && ((from ^ to) & 7) != 0) {
+            setSquare(to, null);
+            setSquare(enPassantCapturedSquare(from, to), undoStack.captured(entry));
+            return;
+        }
+        setSquare(to, undoStack.captured(entry));
+        if (type == ChessPiece.PieceType.KING && Math.abs(to - from) == 2) {
+            int rookFrom = to > from ? from + 3 : from - 4;
+            int rookTo = (from + to) >>> 1;
+            setSquare(rookFrom, squares[rookTo >>> 3][rookTo & 7]);
+            setSquare(rookTo, null);
+        }
+    }
+
+    /**
+     * @return How many moves {@link #unmakeMove()} can take back
+     */
+    int undoDepth() {
+        return undoStack.size();
+    }
+
+    /**
+     * Forgets the moves made so far, so none of them can be taken back.
+     */
+    void clearUndo() {
+        undoStack.clear();
+    }
+
+    // The captured pawn stands beside the capturing pawn's start square, on the end square's file
+    private static int enPassantCapturedSquare(int from, int to) {
+        return (from & ~7) | (to & 7);
+    }
+
+    /**
+     * Gets the castling rights still held. A right is only listed while its king and rook are
+     * on their starting squares, so a board set up by hand can castle if its pieces are in place.
+     *
+     * @return The {@link #WHITE_KINGSIDE}, {@link #WHITE_QUEENSIDE}, {@link #BLACK_KINGSIDE} and
+     * {@link #BLACK_QUEENSIDE} bits that apply
+     */
+    public int getCastlingRights() {
+        int rights = castlingRights;
+        if (rights == 0) {
+            return 0;
+        }
+        long whiteRooks = bitboards.getPieces(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK);
+        long blackRooks = bitboards.getPieces(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK);
+        if ((bitboards.getPieces(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING) & (1L << 4)) == 0) {
+            rights &= ~(WHITE_KINGSIDE | WHITE_QUEENSIDE);
+        }
+        if ((bitboards.getPieces(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING) & (1L << 60)) == 0) {
+            rights &= ~(BLACK_KINGSIDE | BLACK_QUEENSIDE);
+        }
+        if ((whiteRooks & (1L << 7)) == 0) rights &= ~WHITE_KINGSIDE;
+        if ((whiteRooks & 1L) == 0) rights &= ~WHITE_QUEENSIDE;
+        if ((blackRooks & (1L << 63)) == 0) rights &= ~BLACK_KINGSIDE;
+        if ((blackRooks & (1L << 56)) == 0) rights &= ~BLACK_QUEENSIDE;
+        return rights;
+    }
+
+    void setCastlingRights(int rights) {
+        this.castlingRights = rights & ALL_CASTLING;
+    }
+
+    /**
+     * Gets the square a pawn passed over on the last move by moving two squares, where an enemy
+     * pawn may capture it en passant on the next move.
+     *
+     * @return The 0-63 square, or -1 if the last move was not a pawn's double step
+     */
+    public int getEnPassantSquare() {
+        return enPassantSquare;
+    }
+
+    void setEnPassantSquare(int square) {
+        this.enPassantSquare = square;
+    }
+
+    /**
+     * Checks whether any piece of a team attacks a square, without generating any moves
+     *
+     * @param square  the square being attacked
+     * @param byColor the attacking team
+     * @return True if at least one piece of the team attacks the square
+     */
+    public boolean isSquareAttacked(ChessPosition square, ChessGame.TeamColor byColor) {
+        return isSquareAttacked(BitboardPosition.squareOf(square), byColor);
+    }
+
+    boolean isSquareAttacked(int square, ChessGame.TeamColor byColor) {
+        if (attackMap != null) {
+            return attackMap.isAttacked(square, byColor);
+        }
+        return bitboards.isSquareAttacked(square, byColor);
+    }
+
+    /**
+     * Starts maintaining an attack map for this board, updated on every change, so that attack
+     * and check queries become a single lookup. Off by default.
+     *
+     * @return The attack map, which stays current for as long as this board is used
+     */
+    public AttackMap enableAttackMap() {
+        if (attackMap == null) {
+            attackMap = new AttackMap(bitboards);
+        }
+        return attackMap;
+    }
+
+    /**
+     * Gets the square of a team's king, which is tracked as pieces are added and removed
+     *
+     * @param color the team whose king to find
+     * @return The position of the king, or null if the team has no king on the board
+     */
+    public ChessPosition getKingPosition(ChessGame.TeamColor color) {
+        int square = getKingSquare(color);
+        return square < 0 ? null : BitboardPosition.positionOf(square);
+    }
+
+    int getKingSquare(ChessGame.TeamColor color) {
+        return kingSquares[BitboardPosition.teamIndex(color)];
+    }
+
+    /**
+     * Gets the Zobrist key of the pieces on this board, which is updated as pieces are added and
+     * removed. Boards with the same pieces on the same squares have the same key.
+     *
+     * @return The 64-bit key of the piece placement
+     */
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    /**
+     * Evaluates the board from material and piece placement, blending the middlegame and endgame
+     * scores by how much material is left. The totals are updated as pieces are added and removed,
+     * so this does not look at the squares.
+     *
+     * @return The score in centipawns; positive favors white
+     * @see PieceSquareTables
+     */
+    public int evaluate() {
+        return PieceSquareTables.taper(middlegameScore, endgameScore, gamePhase);
+    }
+
+    /**
+     * @return The sum of every piece's middlegame value on its square; positive favors white
+     */
+    public int getMiddlegameScore() {
+        return middlegameScore;
+    }
+
+    /**
+     * @return The sum of every piece's endgame value on its square; positive favors white
+     */
+    public int getEndgameScore() {
+        return endgameScore;
+    }
+
+    /**
+     * @return The game phase from the pieces left, from 0 with only kings and pawns up to
+     * {@link PieceSquareTables#MAX_PHASE} for a full set (or more after promotions)
+     */
+    public int getGamePhase() {
+        return gamePhase;
+    }
+
+    /**
+     * @return The counts of each team's pieces by type, packed as described in {@link MaterialSignature}
+     */
+    public long getMaterialSignature() {
+        return materialSignature;
+    }
+
+    private void setSquare(int square, ChessPiece piece) {
+        ChessPiece replaced = squares[square >>> 3][square & 7];
+        squares[square >>> 3][square & 7] = piece;
+        bitboards.put(square, piece);
+        zobristKey ^= Zobrist.pieceSquare(replaced, square) ^ Zobrist.pieceSquare(piece, square);
+        middlegameScore += PieceSquareTables.middlegame(piece, square) - PieceSquareTables.middlegame(replaced, square);
+        endgameScore += PieceSquareTables.endgame(piece, square) - PieceSquareTables.endgame(replaced, square);
+        gamePhase += PieceSquareTables.phaseWeight(piece) - PieceSquareTables.phaseWeight(replaced);
+        materialSignature += MaterialSignature.of(piece) - MaterialSignature.of(replaced);
+        if (isKing(replaced) || isKing(piece)) {
+            updateKingSquares();
+        }
+        if (attackMap != null) {
+            attackMap.squareChanged(bitboards, square);
+        }
+    }
+
+    private static boolean isKing(ChessPiece piece) {
+        return piece != null && piece.getPieceType() == ChessPiece.PieceType.KING;
+    }
+
+    // With more than one king of a team on the board, the lowest square wins, as the old full scan did
+    private void updateKingSquares() {
+        long whiteKing = bitboards.getPieces(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING);
+        long blackKing = bitboards.getPieces(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING);
+        kingSquares[BitboardPosition.WHITE] = whiteKing == 0 ? -1 : Long.numberOfTrailingZeros(whiteKing);
+        kingSquares[BitboardPosition.BLACK] = blackKing == 0 ? -1 : Long.numberOfTrailingZeros(blackKing);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ChessBoard that = (ChessBoard) o;
-        return Arrays.deepEquals(squares, that.squares);
+        return zobristKey == that.zobristKey && bitboards.equals(that.bitboards);
     }
 
     @Override
     public int hashCode() {
-        return Arrays.deepHashCode(squares);
+        return Long.hashCode(zobristKey);
     }
 
     @Override
@@ -54,10 +348,12 @@ public class ChessBoard implements Cloneable{
     @Override
     public ChessBoard clone() throws CloneNotSupportedException {
         ChessBoard clone = new ChessBoard();
+        clone.castlingRights = this.castlingRights;
+        clone.enPassantSquare = this.enPassantSquare;
         for (int i = 0; i < 8; i++) {
             for (int j = 0; j < 8; j++) {
                 if (this.squares[i][j] != null) {
-                    clone.squares[i][j] = new ChessPiece(this.squares[i][j].getTeamColor(), this.squares[i][j].getPieceType());
+                    clone.setSquare(i * 8 + j, ChessPiece.of(this.squares[i][j].getTeamColor(), this.squares[i][j].getPieceType()));
                 }
             }
         }
@@ -74,49 +370,71 @@ public class ChessBoard implements Cloneable{
         return squares[position.getRow() - 1][position.getColumn() - 1];
     }
 
+    /**
+     * Gets the bitboard view of this board, which is kept in sync as pieces are added and removed
+     *
+     * @return The bitboards of this board, which should be treated as read-only
+     */
+    public BitboardPosition getBitboards() {
+        return bitboards;
+    }
+
     /**
      * Sets the board to the default starting board
      * (How the game of chess normally starts)
      */
     public void resetBoard() {
         squares = new ChessPiece[8][8];
+        bitboards = new BitboardPosition();
+        zobristKey = 0;
+        middlegameScore = 0;
+        endgameScore = 0;
+        gamePhase = 0;
+        materialSignature = 0;
+        castlingRights = ALL_CASTLING;
+        enPassantSquare = -1;
+        undoStack.clear();
+        updateKingSquares();
+        if (attackMap != null) {
+            attackMap.rebuild(bitboards);
+        }
         //Add black team
-        this.addPiece(new ChessPosition(8, 8), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
-        this.addPiece(new ChessPosition(8, 7), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
-        this.addPiece(new ChessPosition(8, 6), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
-        this.addPiece(new ChessPosition(8, 5), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
-        this.addPiece(new ChessPosition(8, 4), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN));
-        this.addPiece(new ChessPosition(8, 3), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
-        this.addPiece(new ChessPosition(8, 2), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
-        this.addPiece(new ChessPosition(8, 1), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
-
-        this.addPiece(new ChessPosition(7, 8), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
-        this.addPiece(new ChessPosition(7, 7), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
-        this.addPiece(new ChessPosition(7, 6), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
-        this.addPiece(new ChessPosition(7, 5), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
-        this.addPiece(new ChessPosition(7, 4), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
-        this.addPiece(new ChessPosition(7, 3), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
-        this.addPiece(new ChessPosition(7, 2), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
-        this.addPiece(new ChessPosition(7, 1), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+        this.addPiece(ChessPosition.of(8, 8), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
+        this.addPiece(ChessPosition.of(8, 7), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
+        this.addPiece(ChessPosition.of(8, 6), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
+        this.addPiece(ChessPosition.of(8, 5), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
+        this.addPiece(ChessPosition.of(8, 4), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN));
+        this.addPiece(ChessPosition.of(8, 3), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
+        this.addPiece(ChessPosition.of(8, 2), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
+        this.addPiece(ChessPosition.of(8, 1), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
+
+        this.addPiece(ChessPosition.of(7, 8), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+        this.addPiece(ChessPosition.of(7, 7), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+        this.addPiece(ChessPosition.of(7, 6), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+        this.addPiece(ChessPosition.of(7, 5), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+        this.addPiece(ChessPosition.of(7, 4), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+        this.addPiece(ChessPosition.of(7, 3), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+        this.addPiece(ChessPosition.of(7, 2), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+        this.addPiece(ChessPosition.of(7, 1), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
 
         //Add white team
-        this.addPiece(new ChessPosition(1, 8), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
-        this.addPiece(new ChessPosition(1, 7), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
-        this.addPiece(new ChessPosition(1, 6), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
-        this.addPiece(new ChessPosition(1, 5), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
-        this.addPiece(new ChessPosition(1, 4), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN));
-        this.addPiece(new ChessPosition(1, 3), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
-        this.addPiece(new ChessPosition(1, 2), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
-        this.addPiece(new ChessPosition(1, 1), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
-
-        this.addPiece(new ChessPosition(2, 8), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
-        this.addPiece(new ChessPosition(2, 7), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
-        this.addPiece(new ChessPosition(2, 6), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
-        this.addPiece(new ChessPosition(2, 5), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
-        this.addPiece(new ChessPosition(2, 4), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
-        this.addPiece(new ChessPosition(2, 3), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
-        this.addPiece(new ChessPosition(2, 2), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
-        this.addPiece(new ChessPosition(2, 1), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+        this.addPiece(ChessPosition.of(1, 8), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        this.addPiece(ChessPosition.of(1, 7), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
+        this.addPiece(ChessPosition.of(1, 6), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
+        this.addPiece(ChessPosition.of(1, 5), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
+        this.addPiece(ChessPosition.of(1, 4), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN));
+        this.addPiece(ChessPosition.of(1, 3), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
+        this.addPiece(ChessPosition.of(1, 2), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
+        this.addPiece(ChessPosition.of(1, 1), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+
+        this.addPiece(ChessPosition.of(2, 8), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+        this.addPiece(ChessPosition.of(2, 7), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+        this.addPiece(ChessPosition.of(2, 6), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+        this.addPiece(ChessPosition.of(2, 5), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+        this.addPiece(ChessPosition.of(2, 4), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+        this.addPiece(ChessPosition.of(2, 3), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+        this.addPiece(ChessPosition.of(2, 2), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+        this.addPiece(ChessPosition.of(2, 1), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
     }
 }
 
@@ -1,5 +1,6 @@
 package chess;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 
@@ -10,10 +11,31 @@ public class ChessGame {
 
     private TeamColor currentTurn;
     private ChessBoard board;
+    private final transient MoveList moveBuffer = new MoveList();
+    private final transient MoveList legalMoveBuffer = new MoveList();
+    private final transient LegalMoveCache moveCache;
+    private transient GameStatus status;
+    private transient long statusKey;
+    // The key, halfmove clock and board undo depth before each move made through this game,
+    // newest last, so repetitions are found by comparing keys and unmakeMove can put the clock
+    // back; the depth tells unmakeMove whether the move it takes back is the newest entry's
+    private long[] keyHistory = new long[64];
+    private int[] clockHistory = new int[64];
+    private int[] depthHistory = new int[64];
+    private int historySize;
+    private int halfmoveClock;
 
     public ChessGame() {
+        this(LegalMoveCache.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param moveCacheCapacity the number of positions whose legal moves are kept; 0 turns the cache off
+     */
+    public ChessGame(int moveCacheCapacity) {
         this.board = new ChessBoard();
         this.currentTurn = TeamColor.WHITE;
+        this.moveCache = new LegalMoveCache(moveCacheCapacity);
     }
 
     public TeamColor getTeamTurn() {
@@ -30,78 +52,433 @@ public class ChessGame {
     }
 
     public Collection<ChessMove> validMoves(ChessPosition startPosition) {
+        return new HashSet<>(validMoveCollection(startPosition));
+    }
+
+    /**
+     * Gets the same moves as {@link #validMoves}, as an immutable collection in generation order.
+     * It is copied out of the legal move cache without building a set, so it is the cheaper way
+     * to ask when the caller does not change the result.
+     *
+     * @param startPosition the square of the piece to move
+     * @return The piece's legal moves; none if the square is empty or the piece's team is not to move
+     */
+    public MoveCollection validMoveCollection(ChessPosition startPosition) {
         ChessPiece piece = board.getPiece(startPosition);
         if (piece == null || piece.getTeamColor() != this.currentTurn) {
-            return new HashSet<>();  // No valid moves if there's no piece or it's not the player's turn
+            return MoveCollection.empty();  // No valid moves if there's no piece or it's not the player's turn
         }
 
-        Collection<ChessMove> possibleMoves = piece.pieceMoves(this.board, startPosition);
-        Collection<ChessMove> validMoves = new HashSet<>();
+        // All legal moves are grouped by start square, so this piece's moves are one run
+        int square = BitboardPosition.squareOf(startPosition);
+        int[] moves = cachedLegalMoves();
+        int start = 0;
+        while (start < moves.length && PackedMove.from(moves[start]) != square) {
+            start++;
+        }
+        int end = start;
+        while (end < moves.length && PackedMove.from(moves[end]) == square) {
+            end++;
+        }
+        return MoveCollection.copyOfRange(moves, start, end);
+    }
 
-        for (ChessMove move : possibleMoves) {
-            if (isValidMoveAfterCheck(move, startPosition, piece)) {
-                validMoves.add(move);
-            }
+    /**
+     * Gets every legal move of a team in one pass, sharing the check and pin analysis between
+     * its pieces instead of repeating it for each {@link #validMoves} call.
+     *
+     * @param teamColor the team whose moves to get; only the team whose turn it is has any
+     * @return The team's legal moves, grouped by start square in square order
+     */
+    public MoveCollection allValidMoves(TeamColor teamColor) {
+        if (teamColor != this.currentTurn) {
+            return MoveCollection.empty();
+        }
+        return MoveCollection.wrap(cachedLegalMoves());
+    }
+
+    /**
+     * Tells whether a move is legal for the team whose turn it is. Only this move is checked: the
+     * piece's reach to the target square, then whether the king is safe afterwards, so the cost
+     * does not depend on how many other moves the piece has.
+     *
+     * @return Whether {@link #makeMove(ChessMove)} would accept the move
+     */
+    public boolean isLegal(ChessMove move) {
+        return checkMove(move).isOk();
+    }
+
+    /**
+     * Makes a move if it is legal, and otherwise says why not. Unlike {@link #makeMove(ChessMove)}
+     * it throws nothing, so rejecting a move costs no more than checking it.
+     *
+     * @param move the move to make
+     * @return {@link MoveResult#OK} if the move was made, otherwise the reason it was rejected
+     */
+    public MoveResult tryMakeMove(ChessMove move) {
+        MoveResult result = checkMove(move);
+        if (result.isOk()) {
+            pushHistory(BitboardPosition.squareOf(move.getStartPosition()), BitboardPosition.squareOf(move.getEndPosition()));
+            board.makeMove(move);
+            switchTurn();
         }
-        return validMoves;
+        return result;
     }
 
+    /**
+     * Makes a move, throwing if it is not legal.
+     *
+     * @param move the move to make
+     * @throws InvalidMoveException if the move is not legal; {@link InvalidMoveException#getReason()} says why
+     */
     public void makeMove(ChessMove move) throws InvalidMoveException {
-        ChessPiece piece = board.getPiece(move.getStartPosition());
+        MoveResult result = tryMakeMove(move);
+        if (!result.isOk()) {
+            throw new InvalidMoveException(result);
+        }
+    }
+
+    /**
+     * Makes a packed move without checking that it is legal and passes the turn. Used by search
+     * and perft, which only make moves that came from {@link #legalMoves(MoveList)}; take it back
+     * with {@link #unmakeMove()}.
+     *
+     * @param move a legal packed move for the team whose turn it is
+     */
+    public void makeMove(int move) {
+        pushHistory(PackedMove.from(move), PackedMove.to(move));
+        board.makeMove(move);
+        switchTurn();
+    }
+
+    /**
+     * Appends every legal move of the team whose turn it is to a list, grouped by start square.
+     * <p>
+     * Unlike {@link #validMoves}, this does not go through the move cache.
+     *
+     * @param moves the list to append to; it is not cleared first
+     */
+    public void legalMoves(MoveList moves) {
+        if (hasOneKing()) {
+            LegalMoveGenerator.generate(board, currentTurn, moves);
+        } else {
+            legalMovesByMakeUnmake(moves);
+        }
+    }
 
-        if (!validMoves(move.getStartPosition()).contains(move)) {
-            throw new InvalidMoveException("Invalid move");
+    /**
+     * Finds legal moves by generating each piece's moves and making each one to see whether it
+     * leaves the king in check. Slower than {@link LegalMoveGenerator}, but it makes no assumptions
+     * about the board, so it handles boards without exactly one king per team.
+     */
+    void legalMovesByMakeUnmake(MoveList moves) {
+        MoveList possibleMoves = this.moveBuffer;
+        possibleMoves.clear();
+        pseudoLegalMoves(possibleMoves);
+        for (int i = 0; i < possibleMoves.size(); i++) {
+            int move = possibleMoves.get(i);
+            if (isValidMoveAfterCheck(move, currentTurn)) {
+                moves.add(move);
+            }
         }
+    }
 
-        executeMove(move, piece);
+    /**
+     * Tells whether the team whose turn it is can make any move. It stops at the first legal move
+     * it finds, so it is much cheaper than generating them all when the answer is yes.
+     *
+     * @return Whether the team to move has at least one legal move
+     */
+    public boolean hasAnyLegalMove() {
+        if (hasOneKing()) {
+            return LegalMoveGenerator.hasAnyLegalMove(board, currentTurn);
+        }
+        MoveList possibleMoves = this.moveBuffer;
+        possibleMoves.clear();
+        pseudoLegalMoves(possibleMoves);
+        for (int i = 0; i < possibleMoves.size(); i++) {
+            if (isValidMoveAfterCheck(possibleMoves.get(i), currentTurn)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the cache of legal moves that {@link #validMoves} and {@link #allValidMoves} share,
+     * for example to read its hit and miss counts
+     *
+     * @return This game's legal move cache
+     */
+    public LegalMoveCache getMoveCache() {
+        return moveCache;
+    }
+
+    /**
+     * Takes back the last move made on this game's board and gives the turn back to the team that made it.
+     *
+     * @throws IllegalStateException if the board has no move to take back
+     */
+    public void unmakeMove() {
+        board.unmakeMove();
         switchTurn();
+        if (historySize > 0 && depthHistory[historySize - 1] == board.undoDepth()) {
+            historySize--;
+            halfmoveClock = clockHistory[historySize];
+        }
+    }
+
+    /**
+     * @return The number of moves since the last capture or pawn move, counting each team's move separately
+     */
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    void setHalfmoveClock(int halfmoveClock) {
+        this.halfmoveClock = halfmoveClock;
+    }
+
+    /**
+     * Counts how many times the current position has occurred, this time included. Only
+     * positions since the last capture or pawn move can repeat, and only every other one has the
+     * same side to move, so it compares at most {@link #getHalfmoveClock()} / 2 keys.
+     * <p>
+     * Positions from before {@link #setBoard} are not known, nor are moves made directly on the
+     * board rather than through this game.
+     *
+     * @return How many times the position has been on the board with the same side to move
+     */
+    public int getRepetitionCount() {
+        long key = getPositionKey();
+        int oldest = Math.max(historySize - halfmoveClock, 0);
+        int count = 1;
+        for (int i = historySize - 2; i >= oldest; i -= 2) {
+            if (keyHistory[i] == key) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return Whether the current position has occurred three times, so either team may claim a draw
+     */
+    public boolean isThreefoldRepetition() {
+        return getRepetitionCount() >= 3;
+    }
+
+    /**
+     * @return Whether fifty moves by each team have passed without a capture or pawn move, so either team may claim a draw
+     */
+    public boolean isFiftyMoveRule() {
+        return halfmoveClock >= 100;
     }
 
     public boolean isInCheck(TeamColor teamColor) {
+        if (teamColor == this.currentTurn) {
+            return getStatus().isCheck();
+        }
         return isKingInCheck(board, teamColor);
     }
 
     public boolean isInCheckmate(TeamColor teamColor) {
+        if (teamColor == this.currentTurn) {
+            return getStatus().state() == GameStatus.State.CHECKMATE;
+        }
         return isInCheck(teamColor) && noValidMovesAvailable(teamColor);
     }
 
     public boolean isInStalemate(TeamColor teamColor) {
+        if (teamColor == this.currentTurn) {
+            return getStatus().state() == GameStatus.State.STALEMATE;
+        }
         return !isInCheck(teamColor) && noValidMovesAvailable(teamColor);
     }
 
+    /**
+     * Tells whether neither team has enough material left to checkmate, such as king against
+     * king, king and one minor piece against king, or only bishops on squares of one color. It
+     * reads the board's {@link MaterialSignature}, so it takes constant time.
+     *
+     * @return Whether the game is drawn by insufficient material
+     */
+    public boolean isInsufficientMaterial() {
+        return MaterialSignature.isInsufficient(board);
+    }
+
+    /**
+     * Works out in one pass whether the team to move is in check and whether it can move. The
+     * result is kept until the position changes, so asking again, or asking {@link #isInCheck},
+     * {@link #isInCheckmate} or {@link #isInStalemate} about the team to move, costs a key
+     * comparison.
+     *
+     * @return The status of the game for the team whose turn it is
+     */
+    public GameStatus getStatus() {
+        long key = getPositionKey();
+        if (status == null || statusKey != key) {
+            boolean check = isKingInCheck(board, currentTurn);
+            GameStatus.State state;
+            if (hasAnyLegalMove()) {
+                state = check ? GameStatus.State.CHECK : GameStatus.State.IN_PROGRESS;
+            } else {
+                state = check ? GameStatus.State.CHECKMATE : GameStatus.State.STALEMATE;
+            }
+            status = new GameStatus(currentTurn, state);
+            statusKey = key;
+        }
+        return status;
+    }
+
+    /**
+     * Replaces the board and starts the history of positions afresh. The board's earlier moves
+     * are forgotten too, since their halfmove clocks are not known, so {@link #unmakeMove()}
+     * cannot go back past this point.
+     *
+     * @param board the board to play on
+     */
     public void setBoard(ChessBoard board) {
+        board.clearUndo();
         this.board = board;
+        this.historySize = 0;
+        this.halfmoveClock = 0;
+    }
+
+    /**
+     * Copies the position, the turn and the history of positions, so repetitions and the
+     * halfmove clock carry over. The copy's board cannot take back moves made before the copy.
+     *
+     * @param moveCacheCapacity the copy's move cache capacity; 0 turns its cache off
+     * @return A game that can be played on without changing this one
+     */
+    public ChessGame copy(int moveCacheCapacity) {
+        ChessGame copy = new ChessGame(moveCacheCapacity);
+        try {
+            copy.board = board.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("ChessBoard should always be cloneable", e);
+        }
+        copy.currentTurn = currentTurn;
+        copy.keyHistory = Arrays.copyOf(keyHistory, keyHistory.length);
+        copy.clockHistory = Arrays.copyOf(clockHistory, clockHistory.length);
+        // The copy's board starts with nothing to take back, so no inherited entry is ever popped
+        copy.depthHistory = new int[keyHistory.length];
+        Arrays.fill(copy.depthHistory, -1);
+        copy.historySize = historySize;
+        copy.halfmoveClock = halfmoveClock;
+        return copy;
     }
 
     public ChessBoard getBoard() {
         return this.board;
     }
 
+    /**
+     * Gets a 64-bit key for the current position: the board's Zobrist key with the side to move,
+     * the castling rights and any en passant capture folded in. The en passant square only counts
+     * when a pawn could actually capture onto it, so positions that play the same get the same key.
+     * It is computed in constant time, so it can be used to key caches.
+     *
+     * @return The key of the pieces on the board, whose turn it is, and their special moves
+     */
+    public long getPositionKey() {
+        long key = board.getZobristKey() ^ Zobrist.sideToMove(currentTurn) ^ Zobrist.castling(board.getCastlingRights());
+        int enPassant = board.getEnPassantSquare();
+        if (enPassant >= 0 && (BitboardPosition.pawnAttacks(BitboardPosition.opponent(currentTurn), enPassant)
+                & board.getBitboards().getPieces(currentTurn, ChessPiece.PieceType.PAWN)) != 0) {
+            key ^= Zobrist.enPassant(enPassant);
+        }
+        return key;
+    }
+
     // Private helper methods
 
-    private boolean isValidMoveAfterCheck(ChessMove move, ChessPosition startPosition, ChessPiece piece) {
-        try {
-            ChessBoard boardCopy = cloneBoardWithMove(move, startPosition, piece);
-            return !isKingInCheck(boardCopy, piece.getTeamColor());
-        } catch (CloneNotSupportedException | InvalidMoveException e) {
-            throw new RuntimeException(e);
+    private boolean isValidMoveAfterCheck(int move, TeamColor team) {
+        board.makeMove(move);
+        boolean safe = !isKingInCheck(board, team);
+        board.unmakeMove();
+        return safe;
+    }
+
+    // Each piece's moves from its calculator, plus castling after the king's on its starting
+    // square and en passant after a pawn's, which need the board's state as well as its pieces
+    private void pseudoLegalMoves(MoveList moves) {
+        int kingStart = currentTurn == TeamColor.WHITE ? 4 : 60;
+        for (long own = board.getBitboards().getOccupancy(currentTurn); own != 0; own &= own - 1) {
+            int square = Long.numberOfTrailingZeros(own);
+            ChessPosition position = ChessPosition.ofSquare(square);
+            ChessPiece piece = board.getPiece(position);
+            piece.pieceMoves(this.board, position, moves);
+            if (piece.getPieceType() == ChessPiece.PieceType.KING && square == kingStart) {
+                LegalMoveGenerator.addCastlingMoves(board, currentTurn, moves);
+            } else if (piece.getPieceType() == ChessPiece.PieceType.PAWN) {
+                LegalMoveGenerator.addEnPassantMove(board, currentTurn, square, moves);
+            }
         }
     }
 
-    private ChessBoard cloneBoardWithMove(ChessMove move, ChessPosition startPosition, ChessPiece piece) throws CloneNotSupportedException, InvalidMoveException {
-        ChessBoard boardCopy = (ChessBoard) this.board.clone();
-        boardCopy.addPiece(move.getEndPosition(), move.getPromotionPiece() == null ? piece : new ChessPiece(currentTurn, move.getPromotionPiece()));
-        boardCopy.removePiece(startPosition, piece);
-        return boardCopy;
+    private int[] cachedLegalMoves() {
+        long key = getPositionKey();
+        int[] moves = moveCache.get(key);
+        if (moves == null) {
+            MoveList legal = this.legalMoveBuffer;
+            legal.clear();
+            legalMoves(legal);
+            moves = legal.toArray();
+            moveCache.put(key, moves);
+        }
+        return moves;
     }
 
-    private void executeMove(ChessMove move, ChessPiece piece) throws InvalidMoveException {
-        if (move.getPromotionPiece() == null) {
-            board.addPiece(move.getEndPosition(), piece);
-        } else {
-            board.addPiece(move.getEndPosition(), new ChessPiece(currentTurn, move.getPromotionPiece()));
+    // Records the position before a move, then resets the clock for a capture or pawn move,
+    // which no earlier position can be repeated across
+    private void pushHistory(int from, int to) {
+        if (historySize == keyHistory.length) {
+            keyHistory = Arrays.copyOf(keyHistory, historySize * 2);
+            clockHistory = Arrays.copyOf(clockHistory, historySize * 2);
+            depthHistory = Arrays.copyOf(depthHistory, historySize * 2);
         }
-        board.removePiece(move.getStartPosition(), piece);
+        keyHistory[historySize] = getPositionKey();
+        clockHistory[historySize] = halfmoveClock;
+        depthHistory[historySize] = board.undoDepth();
+        historySize++;
+        BitboardPosition bitboards = board.getBitboards();
+        boolean irreversible = (bitboards.getOccupied() & (1L << to)) != 0
+                || (bitboards.getPieces(currentTurn, ChessPiece.PieceType.PAWN) & (1L << from)) != 0;
+        halfmoveClock = irreversible ? 0 : halfmoveClock + 1;
+    }
+
+    private MoveResult checkMove(ChessMove move) {
+        ChessPosition start = move.getStartPosition();
+        if (!isOnBoard(start) || !isOnBoard(move.getEndPosition())) {
+            return MoveResult.OFF_BOARD;
+        }
+        ChessPiece piece = board.getPiece(start);
+        if (piece == null) {
+            return MoveResult.NO_PIECE;
+        }
+        if (piece.getTeamColor() != this.currentTurn) {
+            return MoveResult.NOT_YOUR_TURN;
+        }
+        if (!hasOneKing()) {
+            return validMoveCollection(start).contains(move) ? MoveResult.OK : MoveResult.ILLEGAL_MOVE;
+        }
+        int packed = PackedMove.fromChessMove(move);
+        if (!LegalMoveGenerator.canReach(board, currentTurn, packed)) {
+            return MoveResult.ILLEGAL_MOVE;
+        }
+        return LegalMoveGenerator.keepsKingSafe(board, currentTurn, packed) ? MoveResult.OK : MoveResult.KING_IN_CHECK;
+    }
+
+    // The legal move generator needs exactly one king for the team to move
+    private boolean hasOneKing() {
+        long kings = board.getBitboards().getPieces(currentTurn, ChessPiece.PieceType.KING);
+        return kings != 0 && (kings & (kings - 1)) == 0;
+    }
+
+    private static boolean isOnBoard(ChessPosition position) {
+        return position.getRow() >= 1 && position.getRow() <= 8 && position.getColumn() >= 1 && position.getColumn() <= 8;
     }
 
     private void switchTurn() {
@@ -109,47 +486,13 @@ public class ChessGame {
     }
 
     private boolean isKingInCheck(ChessBoard board, TeamColor teamColor) {
-        ChessPosition kingPosition = findKingPosition(board, teamColor);
-        if (kingPosition == null) return false;
-
-        for (int row = 1; row <= 8; row++) {
-            for (int col = 1; col <= 8; col++) {
-                ChessPiece piece = board.getPiece(new ChessPosition(row, col));
-                if (piece != null && piece.getTeamColor() != teamColor) {
-                    Collection<ChessMove> moves = piece.pieceMoves(board, new ChessPosition(row, col));
-                    for (ChessMove move : moves) {
-                        if (move.getEndPosition().equals(kingPosition)) {
-                            return true;
-                        }
-                    }
-                }
-            }
-        }
-        return false;
+        int kingSquare = board.getKingSquare(teamColor);
+        if (kingSquare < 0) return false;
+        return board.isSquareAttacked(kingSquare, BitboardPosition.opponent(teamColor));
     }
 
     private boolean noValidMovesAvailable(TeamColor teamColor) {
-        for (int row = 1; row <= 8; row++) {
-            for (int col = 1; col <= 8; col++) {
-                ChessPosition position = new ChessPosition(row, col);
-                ChessPiece piece = this.board.getPiece(position);
-                if (piece != null && piece.getTeamColor() == teamColor && !validMoves(position).isEmpty()) {
-                    return false;
-                }
-            }
-        }
-        return true;
-    }
-
-    private ChessPosition findKingPosition(ChessBoard board, TeamColor teamColor) {
-        for (int row = 1; row <= 8; row++) {
-            for (int col = 1; col <= 8; col++) {
-                ChessPiece piece = board.getPiece(new ChessPosition(row, col));
-                if (piece != null && piece.getPieceType() == ChessPiece.PieceType.KING && piece.getTeamColor() == teamColor) {
-                    return new ChessPosition(row, col);
-                }
-            }
-        }
-        return null;
+        // Only the team whose turn it is has valid moves
+        return teamColor != this.currentTurn || !hasAnyLegalMove();
     }
 }
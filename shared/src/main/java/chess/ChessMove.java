@@ -14,6 +14,11 @@ public class ChessMove {
     private final ChessPosition endPosition;
     private final ChessPiece.PieceType promotionPiece; // Nullable, only for pawn promotion
 
+    private static final int PROMOTION_SLOTS = ChessPiece.PieceType.values().length + 1;
+    // Canonical moves between on-board squares, filled in on first use. A racing thread may build a
+    // duplicate, which is harmless because moves are immutable and compare by value.
+    private static final ChessMove[] CANONICAL_MOVES = new ChessMove[64 * 64 * PROMOTION_SLOTS];
+
     /**
      * Constructs a ChessMove object representing a move from one position to another,
      * with an optional pawn promotion.
@@ -28,6 +33,37 @@ public class ChessMove {
         this.promotionPiece = promotionPiece; // May be null for non-promotion moves
     }
 
+    /**
+     * Returns the canonical instance of a move. Moves between on-board positions are drawn from a
+     * shared table, so generating the same move again does not allocate.
+     *
+     * @param startPosition   Starting position of the move
+     * @param endPosition     Ending position of the move
+     * @param promotionPiece  Type of piece for pawn promotion (nullable if no promotion)
+     * @return The canonical move, or a new one if either position is off the board
+     */
+    public static ChessMove of(ChessPosition startPosition, ChessPosition endPosition, ChessPiece.PieceType promotionPiece) {
+        if (!isOnBoard(startPosition) || !isOnBoard(endPosition)) {
+            return new ChessMove(startPosition, endPosition, promotionPiece);
+        }
+        return of(BitboardPosition.squareOf(startPosition), BitboardPosition.squareOf(endPosition), promotionPiece);
+    }
+
+    static ChessMove of(int from, int to, ChessPiece.PieceType promotionPiece) {
+        int index = (from * 64 + to) * PROMOTION_SLOTS + (promotionPiece == null ? 0 : promotionPiece.ordinal() + 1);
+        ChessMove move = CANONICAL_MOVES[index];
+        if (move == null) {
+            move = new ChessMove(ChessPosition.ofSquare(from), ChessPosition.ofSquare(to), promotionPiece);
+            CANONICAL_MOVES[index] = move;
+        }
+        return move;
+    }
+
+    private static boolean isOnBoard(ChessPosition position) {
+        return position != null && position.getRow() >= 1 && position.getRow() <= 8
+                && position.getColumn() >= 1 && position.getColumn() <= 8;
+    }
+
     /**
      * @return The starting position of the move
      */
@@ -3,7 +3,6 @@ import chess.validmovescalculator.*;
 
 import java.util.Collection;
 import java.util.EnumMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 
@@ -17,6 +16,7 @@ public class ChessPiece {
     private final ChessGame.TeamColor pieceColor;
     private final PieceType type;
     private static final Map<PieceType, PieceMovesCalculator> validCalculators = createCalculatorMap();
+    private static final ChessPiece[][] SHARED_PIECES = createSharedPieces();
 
     /**
      * Constructor for a chess piece.
@@ -29,6 +29,30 @@ public class ChessPiece {
         this.type = type;
     }
 
+    /**
+     * Returns the shared piece for a color and type. Pieces are immutable, so the twelve
+     * kinds are built once and reused instead of allocating a new piece each time.
+     *
+     * @param pieceColor The color of the piece.
+     * @param type       The type of the piece.
+     * @return The shared piece.
+     */
+    public static ChessPiece of(ChessGame.TeamColor pieceColor, PieceType type) {
+        return SHARED_PIECES[pieceColor.ordinal()][type.ordinal()];
+    }
+
+    private static ChessPiece[][] createSharedPieces() {
+        ChessGame.TeamColor[] colors = ChessGame.TeamColor.values();
+        PieceType[] types = PieceType.values();
+        ChessPiece[][] pieces = new ChessPiece[colors.length][types.length];
+        for (ChessGame.TeamColor color : colors) {
+            for (PieceType type : types) {
+                pieces[color.ordinal()][type.ordinal()] = new ChessPiece(color, type);
+            }
+        }
+        return pieces;
+    }
+
     /**
      * The various different chess piece types.
      */
@@ -43,17 +67,18 @@ public class ChessPiece {
 
     /**
      * Creates and returns a mapping between PieceType and the corresponding PieceMovesCalculator.
+     * The shared calculator instances are used, since calculators hold no per-call state.
      *
      * @return A Map of PieceType to PieceMovesCalculator.
      */
     private static Map<PieceType, PieceMovesCalculator> createCalculatorMap() {
         Map<PieceType, PieceMovesCalculator> map = new EnumMap<>(PieceType.class);
-        map.put(PieceType.BISHOP, new BishopValidMovesCalculator());
-        map.put(PieceType.KING, new KingValidMovesCalculator());
-        map.put(PieceType.KNIGHT, new KnightValidMovesCalculator());
-        map.put(PieceType.PAWN, new PawnValidMovesCalculator());
-        map.put(PieceType.QUEEN, new QueenValidMovesCalculator());
-        map.put(PieceType.ROOK, new RookValidMovesCalculator());
+        map.put(PieceType.BISHOP, BishopValidMovesCalculator.INSTANCE);
+        map.put(PieceType.KING, KingValidMovesCalculator.INSTANCE);
+        map.put(PieceType.KNIGHT, KnightValidMovesCalculator.INSTANCE);
+        map.put(PieceType.PAWN, PawnValidMovesCalculator.INSTANCE);
+        map.put(PieceType.QUEEN, QueenValidMovesCalculator.INSTANCE);
+        map.put(PieceType.ROOK, RookValidMovesCalculator.INSTANCE);
         return map;
     }
 
@@ -81,35 +106,32 @@ public class ChessPiece {
      */
 
     public Collection<ChessMove> pieceMoves(ChessBoard board, ChessPosition myPosition) {
-        PieceMovesCalculator calculator;
-        PieceType type=this.getPieceType();
-
-        // Use switch statement to get the correct calculator based on piece type
-        switch (type) {
-            case KING:
-                calculator = new KingValidMovesCalculator();
-                break;
-            case QUEEN:
-                calculator = new QueenValidMovesCalculator();
-                break;
-            case ROOK:
-                calculator = new RookValidMovesCalculator();
-                break;
-            case BISHOP:
-                calculator = new BishopValidMovesCalculator();
-                break;
-            case KNIGHT:
-                calculator = new KnightValidMovesCalculator();
-                break;
-            case PAWN:
-                calculator = new PawnValidMovesCalculator();
-                break;
-            default:
-                return new HashSet<>(); // Return an empty set if the piece type is unrecognized
-        }
+        // Calculators are stateless, so every piece of a type shares the one in the map
+        return validCalculators.get(type).pieceMoves(board, myPosition);
+    }
+
+    /**
+     * Calculates the same moves as {@link #pieceMoves(ChessBoard, ChessPosition)}, into an
+     * immutable collection in generation order instead of a new set.
+     *
+     * @param board       The chessboard on which the piece is currently located.
+     * @param myPosition  The current position of the piece.
+     * @return The piece's moves.
+     */
+    public MoveCollection pieceMoveCollection(ChessBoard board, ChessPosition myPosition) {
+        return validCalculators.get(type).pieceMoveCollection(board, myPosition);
+    }
 
-        // Calculate and return the valid moves
-        return calculator.pieceMoves(board, myPosition);
+    /**
+     * Appends this piece's moves to a list as packed moves, without considering moves that
+     * might leave the king in check.
+     *
+     * @param board       The chessboard on which the piece is currently located.
+     * @param myPosition  The current position of the piece.
+     * @param moves       The list the moves are added to.
+     */
+    public void pieceMoves(ChessBoard board, ChessPosition myPosition, MoveList moves) {
+        validCalculators.get(type).pieceMoves(board, myPosition, moves);
     }
 
     @Override
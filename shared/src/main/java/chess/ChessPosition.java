@@ -11,6 +11,14 @@ public class ChessPosition {
     private final int row;
     private final int col;
 
+    private static final ChessPosition[] BOARD_POSITIONS = new ChessPosition[64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            BOARD_POSITIONS[square] = new ChessPosition((square >>> 3) + 1, (square & 7) + 1);
+        }
+    }
+
     /**
      * Constructs a ChessPosition object with the given row and column.
      *
@@ -22,6 +30,29 @@ public class ChessPosition {
         this.col = col;
     }
 
+    /**
+     * Returns the shared instance for a square on the board. Positions are immutable, so the 64
+     * on-board positions are built once and reused instead of allocating a new one per lookup.
+     *
+     * @param row the row number (1 for the bottom row)
+     * @param col the column number (1 for the left-most column)
+     * @return the shared position, or a new one if the row or column is off the board
+     */
+    public static ChessPosition of(int row, int col) {
+        if (row < 1 || row > 8 || col < 1 || col > 8) {
+            return new ChessPosition(row, col);
+        }
+        return BOARD_POSITIONS[(row - 1) * 8 + (col - 1)];
+    }
+
+    /**
+     * @param square the 0-63 square index, {@code (row - 1) * 8 + (col - 1)}
+     * @return the shared position for the square
+     */
+    static ChessPosition ofSquare(int square) {
+        return BOARD_POSITIONS[square];
+    }
+
     /**
      * @return the row number of this position (1-indexed)
      */
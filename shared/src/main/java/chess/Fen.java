@@ -0,0 +1,125 @@
+package chess;
+
+/**
+ * Reads positions written in Forsyth-Edwards Notation, such as the reference positions used by
+ * {@link Perft}.
+ * <p>
+ * The piece placement, side to move, castling and en passant fields are used; the castling and
+ * en passant fields may be left off, in which case there are none. The halfmove clock is read
+ * for the fifty-move rule and is 0 when left off; the fullmove number is accepted but ignored.
+ */
+public final class Fen {
+
+    /** The standard starting position. */
+    public static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private Fen() {
+
+    }
+
+    /**
+     * Builds a game from a FEN string
+     *
+     * @param fen the position to read
+     * @return A new game with the position's pieces, side to move, special moves and halfmove clock
+     * @throws IllegalArgumentException if the string is not a valid position
+     */
+    public static ChessGame toGame(String fen) {
+        String[] fields = fen.trim().split("\\s+");
+        if (fields.length < 2) {
+            throw new IllegalArgumentException("Missing side to move in FEN: " + fen);
+        }
+
+        ChessGame game = new ChessGame();
+        game.setBoard(toBoard(fields[0]));
+        game.setTeamTurn(switch (fields[1]) {
+            case "w" -> ChessGame.TeamColor.WHITE;
+            case "b" -> ChessGame.TeamColor.BLACK;
+            default -> throw new IllegalArgumentException("Bad side to move in FEN: " + fen);
+        });
+        game.getBoard().setCastlingRights(fields.length > 2 ? toCastlingRights(fields[2], fen) : 0);
+        game.getBoard().setEnPassantSquare(fields.length > 3 ? toEnPassantSquare(fields[3], fen) : -1);
+        game.setHalfmoveClock(fields.length > 4 ? toHalfmoveClock(fields[4], fen) : 0);
+        return game;
+    }
+
+    private static int toCastlingRights(String field, String fen) {
+        if (field.equals("-")) {
+            return 0;
+        }
+        int rights = 0;
+        for (char c : field.toCharArray()) {
+            rights |= switch (c) {
+                case 'K' -> ChessBoard.WHITE_KINGSIDE;
+                case 'Q' -> ChessBoard.WHITE_QUEENSIDE;
+                case 'k' -> ChessBoard.BLACK_KINGSIDE;
+                case 'q' -> ChessBoard.BLACK_QUEENSIDE;
+                default -> throw new IllegalArgumentException("Bad castling rights in FEN: " + fen);
+            };
+        }
+        return rights;
+    }
+
+    private static int toEnPassantSquare(String field, String fen) {
+        if (field.equals("-")) {
+            return -1;
+        }
+        if (field.length() != 2 || field.charAt(0) < 'a' || field.charAt(0) > 'h'
+                || (field.charAt(1) != '3' && field.charAt(1) != '6')) {
+            throw new IllegalArgumentException("Bad en passant square in FEN: " + fen);
+        }
+        return BitboardPosition.squareOf(field.charAt(1) - '0', field.charAt(0) - 'a' + 1);
+    }
+
+    private static int toHalfmoveClock(String field, String fen) {
+        try {
+            int clock = Integer.parseInt(field);
+            if (clock >= 0) {
+                return clock;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below with the rest of the FEN
+        }
+        throw new IllegalArgumentException("Bad halfmove clock in FEN: " + fen);
+    }
+
+    private static ChessBoard toBoard(String placement) {
+        String[] ranks = placement.split("/");
+        if (ranks.length != 8) {
+            throw new IllegalArgumentException("Expected 8 ranks in FEN placement: " + placement);
+        }
+
+        ChessBoard board = new ChessBoard();
+        for (int i = 0; i < 8; i++) {
+            int row = 8 - i;
+            int col = 1;
+            for (char c : ranks[i].toCharArray()) {
+                if (c >= '1' && c <= '8') {
+                    col += c - '0';
+                } else if (col <= 8) {
+                    board.addPiece(ChessPosition.of(row, col++), toPiece(c));
+                } else {
+                    col++;
+                }
+            }
+            if (col != 9) {
+                throw new IllegalArgumentException("Rank " + row + " does not have 8 squares: " + placement);
+            }
+        }
+        return board;
+    }
+
+    static ChessPiece toPiece(char c) {
+        ChessGame.TeamColor color = Character.isUpperCase(c) ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+        ChessPiece.PieceType type = switch (Character.toLowerCase(c)) {
+            case 'k' -> ChessPiece.PieceType.KING;
+            case 'q' -> ChessPiece.PieceType.QUEEN;
+            case 'b' -> ChessPiece.PieceType.BISHOP;
+            case 'n' -> ChessPiece.PieceType.KNIGHT;
+            case 'r' -> ChessPiece.PieceType.ROOK;
+            case 'p' -> ChessPiece.PieceType.PAWN;
+            default -> throw new IllegalArgumentException("Unknown piece in FEN: " + c);
+        };
+        return ChessPiece.of(color, type);
+    }
+}
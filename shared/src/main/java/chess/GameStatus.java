@@ -0,0 +1,31 @@
+package chess;
+
+/**
+ * Where a game stands for the team whose turn it is, as given by {@link ChessGame#getStatus()}.
+ *
+ * @param teamTurn the team to move
+ * @param state    whether that team is in check and whether it can move
+ */
+public record GameStatus(ChessGame.TeamColor teamTurn, State state) {
+
+    public enum State {
+        IN_PROGRESS,
+        CHECK,
+        CHECKMATE,
+        STALEMATE
+    }
+
+    /**
+     * @return Whether the team to move is in check, including checkmate
+     */
+    public boolean isCheck() {
+        return state == State.CHECK || state == State.CHECKMATE;
+    }
+
+    /**
+     * @return Whether the game has ended
+     */
+    public boolean isOver() {
+        return state == State.CHECKMATE || state == State.STALEMATE;
+    }
+}
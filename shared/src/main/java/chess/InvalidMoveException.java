@@ -2,14 +2,20 @@ package chess;
 
 /**
  * Indicates an invalid move was made in a game.
+ * <p>
+ * Rejected moves are routine, so the constructors without a cause skip filling in the stack
+ * trace, which is most of what constructing an exception costs. The constructors with a cause
+ * keep it, since they report something unexpected.
  */
 public class InvalidMoveException extends Exception {
 
+    private final MoveResult reason;
+
     /**
      * Default constructor with no message.
      */
     public InvalidMoveException() {
-        super("Invalid move attempted."); // Default message for invalid moves
+        this("Invalid move attempted."); // Default message for invalid moves
     }
 
     /**
@@ -17,7 +23,17 @@ public class InvalidMoveException extends Exception {
      * @param message The detail message explaining the exception.
      */
     public InvalidMoveException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.reason = null;
+    }
+
+    /**
+     * Constructor with the reason a move was rejected, which also gives the message.
+     * @param reason Why {@link ChessGame#tryMakeMove} turned the move down.
+     */
+    public InvalidMoveException(MoveResult reason) {
+        super(reason.getMessage(), null, false, false);
+        this.reason = reason;
     }
 
     /**
@@ -27,6 +43,7 @@ public class InvalidMoveException extends Exception {
      */
     public InvalidMoveException(String message, Throwable cause) {
         super(message, cause);
+        this.reason = null;
     }
 
     /**
@@ -35,5 +52,13 @@ public class InvalidMoveException extends Exception {
      */
     public InvalidMoveException(Throwable cause) {
         super(cause);
+        this.reason = null;
+    }
+
+    /**
+     * @return Why the move was rejected, or null if the exception was not made from a {@link MoveResult}
+     */
+    public MoveResult getReason() {
+        return reason;
     }
 }
@@ -0,0 +1,86 @@
+package chess;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of the legal moves in a position, keyed by {@link ChessGame#getPositionKey()}.
+ * When it is full, the least recently used position is evicted.
+ * <p>
+ * The key covers every piece on the board and the side to move, so any change to the board or
+ * turn looks up a different entry and nothing has to be invalidated by hand. Two positions with
+ * the same 64-bit key would share an entry, which is unlikely enough to ignore.
+ */
+public final class LegalMoveCache {
+
+    /** The capacity {@link ChessGame} uses unless it is given one. */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final int capacity;
+    private final LinkedHashMap<Long, int[]> entries;
+    private long hits;
+    private long misses;
+
+    /**
+     * @param capacity the number of positions to keep; 0 turns caching off
+     */
+    public LegalMoveCache(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Cache capacity cannot be negative: " + capacity);
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, int[]> eldest) {
+                return size() > LegalMoveCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * @return The cached packed moves for a position, or null if it is not cached
+     */
+    int[] get(long key) {
+        int[] moves = entries.get(key);
+        if (moves == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return moves;
+    }
+
+    void put(long key, int[] moves) {
+        if (capacity > 0) {
+            entries.put(key, moves);
+        }
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Removes every cached position. The hit and miss counts are kept.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "LegalMoveCache{size=" + entries.size() + ", capacity=" + capacity + ", hits=" + hits + ", misses=" + misses + '}';
+    }
+}
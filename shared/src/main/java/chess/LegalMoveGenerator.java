@@ -0,0 +1,428 @@
+package chess;
+
+import chess.validmovescalculator.CalculatorUtils;
+
+/**
+ * Generates strictly legal moves in one pass, without making any move to test it.
+ * <p>
+ * Before generating, it works out which enemy pieces give check and which friendly pieces are
+ * pinned to the king. Every non-king move is then limited to the check mask (capturing the
+ * checker or blocking its ray, when in single check) and, for a pinned piece, to its pin ray.
+ * King moves are limited to squares the enemy does not attack once the king has left its square.
+ * In double check only the king moves. Castling and en passant come from the board's castling
+ * rights and en passant square; an en passant capture is tested by working out the king's
+ * attackers again, since it takes two pawns off one rank at once.
+ * <p>
+ * Moves come out in the same order, with the same flags, as the piece calculators followed by a
+ * make/unmake legality test would give: by start square, then in each calculator's order, with
+ * a king's castling moves and a pawn's en passant capture after its other moves.
+ * This assumes the team has exactly one king; {@link ChessGame} falls back to make/unmake
+ * testing otherwise.
+ */
+final class LegalMoveGenerator {
+
+    private static final ChessPiece.PieceType[] PROMOTION_TYPES = {
+            ChessPiece.PieceType.QUEEN, ChessPiece.PieceType.BISHOP, ChessPiece.PieceType.ROOK, ChessPiece.PieceType.KNIGHT
+    };
+
+    // The squares strictly between two squares on a shared rank, file or diagonal, otherwise empty
+    private static final long[][] BETWEEN = new long[64][64];
+
+    // The whole rank, file or diagonal through two squares, otherwise empty
+    private static final long[][] LINE = new long[64][64];
+
+    static {
+        for (int a = 0; a < 64; a++) {
+            for (int b = 0; b < 64; b++) {
+                int rowDistance = Math.abs((a >>> 3) - (b >>> 3));
+                int colDistance = Math.abs((a & 7) - (b & 7));
+                if (a == b) continue;
+                long ends = (1L << a) | (1L << b);
+                if (rowDistance == 0 || colDistance == 0) {
+                    BETWEEN[a][b] = MagicBitboards.rookAttacks(a, 1L << b) & MagicBitboards.rookAttacks(b, 1L << a);
+                    LINE[a][b] = (MagicBitboards.rookAttacks(a, 0) & MagicBitboards.rookAttacks(b, 0)) | ends;
+                } else if (rowDistance == colDistance) {
+                    BETWEEN[a][b] = MagicBitboards.bishopAttacks(a, 1L << b) & MagicBitboards.bishopAttacks(b, 1L << a);
+                    LINE[a][b] = (MagicBitboards.bishopAttacks(a, 0) & MagicBitboards.bishopAttacks(b, 0)) | ends;
+                }
+            }
+        }
+    }
+
+    private LegalMoveGenerator() {
+
+    }
+
+    /**
+     * Appends every legal move of a team to a list.
+     *
+     * @param board the board to generate on; the team must have exactly one king on it
+     * @param team  the team to move
+     * @param moves the list to append to
+     */
+    static void generate(ChessBoard board, ChessGame.TeamColor team, MoveList moves) {
+        BitboardPosition bitboards = board.getBitboards();
+        ChessGame.TeamColor enemy = BitboardPosition.opponent(team);
+        long own = bitboards.getOccupancy(team);
+        long enemies = bitboards.getOccupancy(enemy);
+        long occupied = bitboards.getOccupied();
+        int king = Long.numberOfTrailingZeros(bitboards.getPieces(team, ChessPiece.PieceType.KING));
+        long checkMask = checkMask(bitboards, king, enemy);
+        long pinned = pinned(bitboards, king, own, enemy);
+        long pawns = bitboards.getPieces(team, ChessPiece.PieceType.PAWN);
+
+        for (long pieces = own; pieces != 0; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            if (from == king) {
+                CalculatorUtils.addMoves(king, kingTargets(bitboards, king, own, enemy), enemies, moves);
+                addCastlingMoves(board, team, moves);
+                continue;
+            }
+
+            if ((pawns & (1L << from)) != 0) {
+                long allowed = allowed(from, king, checkMask, pinned);
+                if (allowed != 0) {
+                    addPawnMoves(team, from, occupied, enemies, allowed, moves);
+                }
+                int enPassant = enPassantTarget(board, team);
+                if (enPassant >= 0 && (BitboardPosition.pawnAttacks(team, from) & (1L << enPassant)) != 0
+                        && enPassantKeepsKingSafe(bitboards, team, king, from, enPassant)) {
+                    moves.add(PackedMove.encode(from, enPassant, PackedMove.CAPTURE | PackedMove.EN_PASSANT));
+                }
+            } else {
+                long allowed = allowed(from, king, checkMask, pinned);
+                CalculatorUtils.addMoves(from, pieceTargets(bitboards, team, from, occupied) & ~own & allowed, enemies, moves);
+            }
+        }
+    }
+
+    /**
+     * Tells whether a team has any legal move, stopping at the first one found. The king is tried
+     * first, since in check it is the piece most likely to have a move.
+     *
+     * @param board the board to look at; the team must have exactly one king on it
+     * @param team  the team to move
+     * @return Whether the team can make at least one move
+     */
+    static boolean hasAnyLegalMove(ChessBoard board, ChessGame.TeamColor team) {
+        BitboardPosition bitboards = board.getBitboards();
+        ChessGame.TeamColor enemy = BitboardPosition.opponent(team);
+        long own = bitboards.getOccupancy(team);
+        int king = Long.numberOfTrailingZeros(bitboards.getPieces(team, ChessPiece.PieceType.KING));
+        if (kingTargets(bitboards, king, own, enemy) != 0) {
+            return true;
+        }
+
+        long checkMask = checkMask(bitboards, king, enemy);
+        if (checkMask == 0) {
+            return false;
+        }
+        long enemies = bitboards.getOccupancy(enemy);
+        long occupied = bitboards.getOccupied();
+        long pinned = pinned(bitboards, king, own, enemy);
+        long pawns = bitboards.getPieces(team, ChessPiece.PieceType.PAWN);
+        for (long pieces = own & ~(1L << king); pieces != 0; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            long targets = (pawns & (1L << from)) != 0
+                    ? pawnTargets(team, from, occupied, enemies)
+                    : pieceTargets(bitboards, team, from, occupied) & ~own;
+            if ((targets & allowed(from, king, checkMask, pinned)) != 0) {
+                return true;
+            }
+        }
+
+        // Castling is never the only move, since the king could step to the square it passes,
+        // but an en passant capture can be
+        int enPassant = enPassantTarget(board, team);
+        if (enPassant >= 0) {
+            for (long capturers = BitboardPosition.pawnAttacks(enemy, enPassant) & pawns; capturers != 0; capturers &= capturers - 1) {
+                if (enPassantKeepsKingSafe(bitboards, team, king, Long.numberOfTrailingZeros(capturers), enPassant)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tells whether one move is legal, without generating any other move: {@link #canReach} and
+     * {@link #keepsKingSafe} together.
+     *
+     * @param board the board to look at; the team must have exactly one king on it
+     * @param team  the team to move
+     * @param move  a packed move; its flags are ignored
+     * @return Whether the move is one that {@link #generate} would give
+     */
+    static boolean isLegal(ChessBoard board, ChessGame.TeamColor team, int move) {
+        return canReach(board, team, move) && keepsKingSafe(board, team, move);
+    }
+
+    /**
+     * Tells whether a move follows its piece's movement rules, ignoring the king's safety. The
+     * start square must hold one of the team's pieces, the target must not, and a pawn must
+     * promote, to a queen, bishop, rook or knight, exactly when it reaches the last rank.
+     *
+     * @param move a packed move; its flags are ignored
+     */
+    static boolean canReach(ChessBoard board, ChessGame.TeamColor team, int move) {
+        BitboardPosition bitboards = board.getBitboards();
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        long own = bitboards.getOccupancy(team);
+        if ((own & (1L << from)) == 0 || (own & (1L << to)) != 0) {
+            return false;
+        }
+
+        long occupied = bitboards.getOccupied();
+        boolean pawn = (bitboards.getPieces(team, ChessPiece.PieceType.PAWN) & (1L << from)) != 0;
+        ChessPiece.PieceType promotion = PackedMove.promotion(move);
+        int promotionRow = team == ChessGame.TeamColor.WHITE ? 7 : 0;
+        if (promotion == ChessPiece.PieceType.KING || promotion == ChessPiece.PieceType.PAWN
+                || (promotion != null) != (pawn && (to >>> 3) == promotionRow)) {
+            return false;
+        }
+
+        long targets;
+        if (pawn) {
+            targets = pawnTargets(team, from, occupied, bitboards.getOccupancy(BitboardPosition.opponent(team)));
+            int enPassant = enPassantTarget(board, team);
+            if (enPassant >= 0) {
+                targets |= BitboardPosition.pawnAttacks(team, from) & (1L << enPassant);
+            }
+        } else if ((bitboards.getPieces(team, ChessPiece.PieceType.KING) & (1L << from)) != 0) {
+            int right = castlingRight(team, from, to);
+            if (right != 0) {
+                return (board.getCastlingRights() & right) != 0 && castlingPathClear(occupied, from, to);
+            }
+            targets = BitboardPosition.kingAttacks(from);
+        } else {
+            targets = pieceTargets(bitboards, team, from, occupied);
+        }
+        return (targets & (1L << to)) != 0;
+    }
+
+    /**
+     * Tells whether a move that {@link #canReach} leaves the team's king out of check. King moves
+     * are tested against attacks with the king lifted off the board; other pieces must stay in the
+     * check mask and, when in line with the king, on their pin line.
+     *
+     * @param board the board to look at; the team must have exactly one king on it
+     * @param move  a packed move that the piece on its start square can make
+     */
+    static boolean keepsKingSafe(ChessBoard board, ChessGame.TeamColor team, int move) {
+        BitboardPosition bitboards = board.getBitboards();
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        ChessGame.TeamColor enemy = BitboardPosition.opponent(team);
+        int king = Long.numberOfTrailingZeros(bitboards.getPieces(team, ChessPiece.PieceType.KING));
+        if (from == king) {
+            if (castlingRight(team, from, to) != 0) {
+                return castlingPathSafe(board, enemy, from, to);
+            }
+            return !bitboards.isSquareAttacked(to, enemy, bitboards.getOccupied() & ~(1L << king));
+        }
+        if (to == enPassantTarget(board, team) && ((from ^ to) & 7) != 0
+                && (bitboards.getPieces(team, ChessPiece.PieceType.PAWN) & (1L << from)) != 0) {
+            return enPassantKeepsKingSafe(bitboards, team, king, from, to);
+        }
+        // Only a piece in line with its king can be pinned
+        long pinned = LINE[king][from] == 0 ? 0 : pinned(bitboards, king, bitboards.getOccupancy(team), enemy);
+        return (allowed(from, king, checkMask(bitboards, king, enemy), pinned) & (1L << to)) != 0;
+    }
+
+    /**
+     * Appends the castling moves a team can make: the right is still held, the squares between
+     * king and rook are empty, and the king is not in check and does not pass over or land on an
+     * attacked square. The moves are fully legal.
+     */
+    static void addCastlingMoves(ChessBoard board, ChessGame.TeamColor team, MoveList moves) {
+        int rights = board.getCastlingRights();
+        int from = team == ChessGame.TeamColor.WHITE ? 4 : 60;
+        addCastlingMove(board, team, rights, from, from + 2, moves);
+        addCastlingMove(board, team, rights, from, from - 2, moves);
+    }
+
+    /**
+     * Appends a pawn's en passant capture if it has one, without checking that it keeps the king safe.
+     */
+    static void addEnPassantMove(ChessBoard board, ChessGame.TeamColor team, int from, MoveList moves) {
+        int enPassant = enPassantTarget(board, team);
+        if (enPassant >= 0 && (BitboardPosition.pawnAttacks(team, from) & (1L << enPassant)) != 0) {
+            moves.add(PackedMove.encode(from, enPassant, PackedMove.CAPTURE | PackedMove.EN_PASSANT));
+        }
+    }
+
+    private static void addCastlingMove(ChessBoard board, ChessGame.TeamColor team, int rights, int from, int to, MoveList moves) {
+        if ((rights & castlingRight(team, from, to)) != 0
+                && castlingPathClear(board.getBitboards().getOccupied(), from, to)
+                && castlingPathSafe(board, BitboardPosition.opponent(team), from, to)) {
+            moves.add(PackedMove.encode(from, to, PackedMove.CASTLE));
+        }
+    }
+
+    // The right a king move needs if it is a castle from the king's starting square, otherwise 0
+    private static int castlingRight(ChessGame.TeamColor team, int from, int to) {
+        boolean white = team == ChessGame.TeamColor.WHITE;
+        if (from != (white ? 4 : 60)) {
+            return 0;
+        } else if (to == from + 2) {
+            return white ? ChessBoard.WHITE_KINGSIDE : ChessBoard.BLACK_KINGSIDE;
+        } else if (to == from - 2) {
+            return white ? ChessBoard.WHITE_QUEENSIDE : ChessBoard.BLACK_QUEENSIDE;
+        }
+        return 0;
+    }
+
+    private static boolean castlingPathClear(long occupied, int from, int to) {
+        int rook = to > from ? from + 3 : from - 4;
+        return (BETWEEN[from][rook] & occupied) == 0;
+    }
+
+    private static boolean castlingPathSafe(ChessBoard board, ChessGame.TeamColor enemy, int from, int to) {
+        return !board.isSquareAttacked(from, enemy)
+                && !board.isSquareAttacked((from + to) >>> 1, enemy)
+                && !board.isSquareAttacked(to, enemy);
+    }
+
+    // The board's en passant square if the team can capture onto it: it is on the rank behind an
+    // enemy pawn that has just moved two squares
+    private static int enPassantTarget(ChessBoard board, ChessGame.TeamColor team) {
+        int square = board.getEnPassantSquare();
+        if (square < 0 || (square >>> 3) != (team == ChessGame.TeamColor.WHITE ? 5 : 2)) {
+            return -1;
+        }
+        int pushed = team == ChessGame.TeamColor.WHITE ? square - 8 : square + 8;
+        long enemyPawns = board.getBitboards().getPieces(BitboardPosition.opponent(team), ChessPiece.PieceType.PAWN);
+        return (enemyPawns & (1L << pushed)) != 0 ? square : -1;
+    }
+
+    // En passant takes two pawns off one rank, which can uncover the king in a way pin masks miss,
+    // so the king's attackers are worked out again on the board as it would be after the capture
+    private static boolean enPassantKeepsKingSafe(BitboardPosition bitboards, ChessGame.TeamColor team, int king, int from, int to) {
+        ChessGame.TeamColor enemy = BitboardPosition.opponent(team);
+        long captured = 1L << ((from & ~7) | (to & 7));
+        long occupied = (bitboards.getOccupied() & ~(1L << from) & ~captured) | (1L << to);
+        long queens = bitboards.getPieces(enemy, ChessPiece.PieceType.QUEEN);
+        return (MagicBitboards.rookAttacks(king, occupied) & (bitboards.getPieces(enemy, ChessPiece.PieceType.ROOK) | queens)) == 0
+                && (MagicBitboards.bishopAttacks(king, occupied) & (bitboards.getPieces(enemy, ChessPiece.PieceType.BISHOP) | queens)) == 0
+                && (BitboardPosition.knightAttacks(king) & bitboards.getPieces(enemy, ChessPiece.PieceType.KNIGHT)) == 0
+                && (BitboardPosition.pawnAttacks(team, king) & bitboards.getPieces(enemy, ChessPiece.PieceType.PAWN) & ~captured) == 0;
+    }
+
+    // Single check limits moves to capturing the checker or blocking it; double check rules out all of them
+    private static long checkMask(BitboardPosition bitboards, int king, ChessGame.TeamColor enemy) {
+        long checkers = bitboards.attackersTo(king, enemy);
+        if (checkers == 0) {
+            return -1L;
+        } else if ((checkers & (checkers - 1)) == 0) {
+            return checkers | BETWEEN[king][Long.numberOfTrailingZeros(checkers)];
+        }
+        return 0;
+    }
+
+    // The friendly pieces that are the only thing between the king and an enemy slider
+    private static long pinned(BitboardPosition bitboards, int king, long own, ChessGame.TeamColor enemy) {
+        long enemies = bitboards.getOccupancy(enemy);
+        long enemyQueens = bitboards.getPieces(enemy, ChessPiece.PieceType.QUEEN);
+        long pinners = (MagicBitboards.rookAttacks(king, enemies)
+                & (bitboards.getPieces(enemy, ChessPiece.PieceType.ROOK) | enemyQueens))
+                | (MagicBitboards.bishopAttacks(king, enemies)
+                & (bitboards.getPieces(enemy, ChessPiece.PieceType.BISHOP) | enemyQueens));
+        long pinned = 0;
+        for (; pinners != 0; pinners &= pinners - 1) {
+            long blockers = BETWEEN[king][Long.numberOfTrailingZeros(pinners)] & own;
+            if (blockers != 0 && (blockers & (blockers - 1)) == 0) {
+                pinned |= blockers;
+            }
+        }
+        return pinned;
+    }
+
+    // A pinned piece stays on the line through it and its king, which ends at the pinner
+    private static long allowed(int from, int king, long checkMask, long pinned) {
+        return (pinned & (1L << from)) != 0 ? checkMask & LINE[king][from] : checkMask;
+    }
+
+    // The king is taken off the board when testing, so it cannot step back along a slider's line
+    private static long kingTargets(BitboardPosition bitboards, int king, long own, ChessGame.TeamColor enemy) {
+        long occupied = bitboards.getOccupied() & ~(1L << king);
+        long targets = BitboardPosition.kingAttacks(king) & ~own;
+        for (long candidates = targets; candidates != 0; candidates &= candidates - 1) {
+            int to = Long.numberOfTrailingZeros(candidates);
+            if (bitboards.isSquareAttacked(to, enemy, occupied)) {
+                targets &= ~(1L << to);
+            }
+        }
+        return targets;
+    }
+
+    private static long pieceTargets(BitboardPosition bitboards, ChessGame.TeamColor team, int from, long occupied) {
+        long bit = 1L << from;
+        if ((bitboards.getPieces(team, ChessPiece.PieceType.KNIGHT) & bit) != 0) {
+            return BitboardPosition.knightAttacks(from);
+        } else if ((bitboards.getPieces(team, ChessPiece.PieceType.BISHOP) & bit) != 0) {
+            return MagicBitboards.bishopAttacks(from, occupied);
+        } else if ((bitboards.getPieces(team, ChessPiece.PieceType.ROOK) & bit) != 0) {
+            return MagicBitboards.rookAttacks(from, occupied);
+        } else if ((bitboards.getPieces(team, ChessPiece.PieceType.QUEEN) & bit) != 0) {
+            return MagicBitboards.queenAttacks(from, occupied);
+        }
+        // A second king would only get here if the caller broke the one-king rule
+        return 0;
+    }
+
+    private static long pawnTargets(ChessGame.TeamColor team, int from, long occupied, long enemies) {
+        int direction = team == ChessGame.TeamColor.WHITE ? 8 : -8;
+        int startRow = team == ChessGame.TeamColor.WHITE ? 1 : 6;
+        int forward = from + direction;
+        if (forward < 0 || forward >= 64) {
+            return 0;
+        }
+        long targets = BitboardPosition.pawnAttacks(team, from) & enemies;
+        if ((occupied & (1L << forward)) == 0) {
+            targets |= 1L << forward;
+            int doubleForward = forward + direction;
+            if ((from >>> 3) == startRow && (occupied & (1L << doubleForward)) == 0) {
+                targets |= 1L << doubleForward;
+            }
+        }
+        return targets;
+    }
+
+    // Follows PawnValidMovesCalculator's order: the single push, the double push, then captures
+    private static void addPawnMoves(ChessGame.TeamColor team, int from, long occupied, long enemies, long allowed, MoveList moves) {
+        int direction = team == ChessGame.TeamColor.WHITE ? 8 : -8;
+        int row = from >>> 3;
+        int startRow = team == ChessGame.TeamColor.WHITE ? 1 : 6;
+        int promotionRow = team == ChessGame.TeamColor.WHITE ? 7 : 0;
+        int forward = from + direction;
+        if (forward < 0 || forward >= 64) {
+            return;
+        }
+        boolean promotes = (forward >>> 3) == promotionRow;
+
+        if ((occupied & (1L << forward)) == 0) {
+            if ((allowed & (1L << forward)) != 0) {
+                addPawnMove(from, forward, 0, promotes, moves);
+            }
+            int doubleForward = forward + direction;
+            if (row == startRow && (occupied & (1L << doubleForward)) == 0 && (allowed & (1L << doubleForward)) != 0) {
+                moves.add(PackedMove.encode(from, doubleForward, PackedMove.DOUBLE_PUSH));
+            }
+        }
+
+        for (long captures = BitboardPosition.pawnAttacks(team, from) & enemies & allowed; captures != 0; captures &= captures - 1) {
+            addPawnMove(from, Long.numberOfTrailingZeros(captures), PackedMove.CAPTURE, promotes, moves);
+        }
+    }
+
+    private static void addPawnMove(int from, int to, int flags, boolean promotes, MoveList moves) {
+        if (promotes) {
+            for (ChessPiece.PieceType type : PROMOTION_TYPES) {
+                moves.add(PackedMove.encode(from, to, type, flags));
+            }
+        } else {
+            moves.add(PackedMove.encode(from, to, flags));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package chess;
+
+/**
+ * Packs how many pieces of each type and team are on a board into one {@code long}, five bits
+ * per piece index (see {@link BitboardPosition#pieceIndex}). Boards keep theirs up to date as
+ * pieces are added and removed, so it can be compared or switched on without looking at the
+ * board, for example to send a position to a handler for its endgame:
+ * {@code board.getMaterialSignature() == MaterialSignature.of("KRk")}.
+ * <p>
+ * A count above 31, which no game reaches, spills into the next piece's count.
+ */
+public final class MaterialSignature {
+
+    private static final int BITS = 5;
+    private static final long COUNT_MASK = (1L << BITS) - 1;
+
+    // Every count that rules out insufficient material: pawns, rooks and queens of either team
+    private static final long MATING_MATERIAL = field(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN)
+            | field(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK)
+            | field(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN)
+            | field(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN)
+            | field(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK)
+            | field(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN);
+
+    private static final long DARK_SQUARES = 0xAA55AA55AA55AA55L;
+
+    private MaterialSignature() {
+
+    }
+
+    /**
+     * Builds the signature of a set of pieces written with FEN letters, uppercase for white
+     *
+     * @param pieces the pieces, in any order, such as {@code "KBNk"}
+     * @return The signature a board with exactly those pieces has
+     * @throws IllegalArgumentException if a letter is not a piece
+     */
+    public static long of(String pieces) {
+        long signature = 0;
+        for (char c : pieces.toCharArray()) {
+            signature += of(Fen.toPiece(c));
+        }
+        return signature;
+    }
+
+    /**
+     * @return How many pieces of a type and team the signature counts
+     */
+    public static int count(long signature, ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return (int) ((signature >>> shift(color, type)) & COUNT_MASK);
+    }
+
+    /**
+     * Tells whether neither team can checkmate with the material on a board, whatever the moves:
+     * only kings and at most one knight or bishop, or only kings and bishops all on squares of
+     * one color. The counts come from the signature, so only the bishops' squares are looked at.
+     *
+     * @param board the board to check
+     * @return Whether the game is drawn by insufficient material
+     */
+    static boolean isInsufficient(ChessBoard board) {
+        long signature = board.getMaterialSignature();
+        if ((signature & MATING_MATERIAL) != 0) {
+            return false;
+        }
+        int knights = count(signature, ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT)
+                + count(signature, ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT);
+        int bishops = count(signature, ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP)
+                + count(signature, ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP);
+        if (knights + bishops <= 1) {
+            return true;
+        }
+        if (knights > 0) {
+            return false;
+        }
+        BitboardPosition bitboards = board.getBitboards();
+        long allBishops = bitboards.getPieces(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP)
+                | bitboards.getPieces(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP);
+        return (allBishops & DARK_SQUARES) == 0 || (allBishops & ~DARK_SQUARES) == 0;
+    }
+
+    /**
+     * @return The amount a piece adds to a signature, or 0 for an empty square
+     */
+    static long of(ChessPiece piece) {
+        if (piece == null) {
+            return 0;
+        }
+        return 1L << shift(piece.getTeamColor(), piece.getPieceType());
+    }
+
+    private static long field(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return COUNT_MASK << shift(color, type);
+    }
+
+    private static int shift(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return BitboardPosition.pieceIndex(color, type) * BITS;
+    }
+}
@@ -0,0 +1,139 @@
+package chess;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable, insertion-ordered set of moves backed by an array of {@link PackedMove packed moves}.
+ * <p>
+ * This is the cheaper alternative to the {@code HashSet} that {@link ChessGame#validMoves} and
+ * {@link ChessPiece#pieceMoves(ChessBoard, ChessPosition)} return: it stores one {@code int} per
+ * move, answers {@link #contains} by comparing encodings directly, and iterates in the order the
+ * moves were generated, so results are deterministic. The moves it hands out are the shared
+ * instances from {@link ChessMove#of}. It is a {@link java.util.Set}, so it still compares equal to
+ * any other set holding the same moves.
+ */
+public final class MoveCollection extends AbstractSet<ChessMove> {
+
+    private static final MoveCollection EMPTY = new MoveCollection(new int[0]);
+
+    private final int[] moves;
+
+    private MoveCollection(int[] moves) {
+        this.moves = moves;
+    }
+
+    /**
+     * @return A collection holding a snapshot of the list's moves, in list order.
+     */
+    public static MoveCollection copyOf(MoveList moves) {
+        return moves.isEmpty() ? EMPTY : new MoveCollection(moves.toArray());
+    }
+
+    /**
+     * @return A collection holding a copy of part of an array of packed moves, in array order.
+     */
+    static MoveCollection copyOfRange(int[] moves, int from, int to) {
+        return from == to ? EMPTY : new MoveCollection(Arrays.copyOfRange(moves, from, to));
+    }
+
+    /**
+     * @return A collection backed by an array of packed moves, which must not be changed afterwards.
+     */
+    static MoveCollection wrap(int[] moves) {
+        return moves.length == 0 ? EMPTY : new MoveCollection(moves);
+    }
+
+    public static MoveCollection empty() {
+        return EMPTY;
+    }
+
+    @Override
+    public int size() {
+        return moves.length;
+    }
+
+    /**
+     * @return The packed encoding of the move at an index, in generation order.
+     */
+    public int getPacked(int index) {
+        return moves[index];
+    }
+
+    /**
+     * @return True if the collection holds a move with the same from, to and promotion.
+     */
+    public boolean containsPacked(int move) {
+        for (int packed : moves) {
+            if (PackedMove.sameMove(packed, move)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Picks out the moves that start on one square. Collections from
+     * {@link ChessGame#allValidMoves} are grouped by start square, so these are one run of them.
+     *
+     * @return The moves starting on the square, in generation order
+     */
+    public MoveCollection movesFrom(ChessPosition startPosition) {
+        if (!isOnBoard(startPosition)) {
+            return EMPTY;
+        }
+        int square = BitboardPosition.squareOf(startPosition);
+        int[] matching = new int[moves.length];
+        int count = 0;
+        for (int move : moves) {
+            if (PackedMove.from(move) == square) {
+                matching[count++] = move;
+            }
+        }
+        return copyOfRange(matching, 0, count);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof ChessMove move) || !isOnBoard(move.getStartPosition()) || !isOnBoard(move.getEndPosition())) {
+            return false;
+        }
+        return containsPacked(PackedMove.fromChessMove(move));
+    }
+
+    @Override
+    public Iterator<ChessMove> iterator() {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < moves.length;
+            }
+
+            @Override
+            public ChessMove next() {
+                if (next >= moves.length) {
+                    throw new NoSuchElementException();
+                }
+                return PackedMove.toChessMove(moves[next++]);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < moves.length; i++) {
+            if (i > 0) builder.append(", ");
+            builder.append(PackedMove.toString(moves[i]));
+        }
+        return builder.append(']').toString();
+    }
+
+    private static boolean isOnBoard(ChessPosition position) {
+        return position.getRow() >= 1 && position.getRow() <= 8 && position.getColumn() >= 1 && position.getColumn() <= 8;
+    }
+}
@@ -0,0 +1,99 @@
+package chess;
+
+import java.util.Arrays;
+
+/**
+ * A reusable, growable list of {@link PackedMove packed moves}. Clear and refill the same list
+ * instead of allocating a new collection for every move generation.
+ */
+public final class MoveList {
+
+    private int[] moves;
+    private int size;
+
+    public MoveList() {
+        this(64);
+    }
+
+    public MoveList(int initialCapacity) {
+        this.moves = new int[Math.max(initialCapacity, 1)];
+    }
+
+    public void add(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        moves[size++] = move;
+    }
+
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return moves[index];
+    }
+
+    /**
+     * Replaces the move at an index, for reordering a list in place.
+     */
+    public void set(int index, int move) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        moves[index] = move;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Empties the list, keeping its storage for the next fill.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Shortens the list to its first {@code size} moves.
+     */
+    public void truncate(int size) {
+        if (size < 0 || size > this.size) {
+            throw new IndexOutOfBoundsException("Size " + size + " out of bounds for size " + this.size);
+        }
+        this.size = size;
+    }
+
+    /**
+     * @return True if the list holds a move with the same from, to and promotion as the given one.
+     */
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++) {
+            if (PackedMove.sameMove(moves[i], move)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return A copy of the moves in the list, in the order they were added.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(moves, size);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("MoveList[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) builder.append(", ");
+            builder.append(PackedMove.toString(moves[i]));
+        }
+        return builder.append(']').toString();
+    }
+}
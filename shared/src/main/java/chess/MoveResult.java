@@ -0,0 +1,27 @@
+package chess;
+
+/**
+ * The outcome of {@link ChessGame#tryMakeMove}: either the move was made, or the reason it was not.
+ */
+public enum MoveResult {
+    OK("Move made"),
+    OFF_BOARD("The move starts or ends off the board"),
+    NO_PIECE("There is no piece on the start square"),
+    NOT_YOUR_TURN("The piece belongs to the team that is not to move"),
+    ILLEGAL_MOVE("The piece cannot move that way"),
+    KING_IN_CHECK("The move would leave the king in check");
+
+    private final String message;
+
+    MoveResult(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean isOk() {
+        return this == OK;
+    }
+}
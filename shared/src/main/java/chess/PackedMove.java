@@ -0,0 +1,93 @@
+package chess;
+
+/**
+ * Encodes a move in a single {@code int} so move generation can run without allocating
+ * {@link ChessMove} objects.
+ * <p>
+ * Layout, from the low bits up: the 0-63 start square (6 bits), the 0-63 end square (6 bits),
+ * the promotion type as {@code PieceType.ordinal() + 1} or 0 for none (3 bits), then flag bits.
+ * Two encodings describe the same move when their low {@link #MOVE_BITS} bits match; the flags
+ * only carry extra facts the generator already knew.
+ */
+public final class PackedMove {
+
+    public static final int MOVE_BITS = 15;
+    public static final int MOVE_MASK = (1 << MOVE_BITS) - 1;
+
+    /** The move captures the piece on its end square. */
+    public static final int CAPTURE = 1 << 15;
+    /** A pawn moves two squares from its starting row. */
+    public static final int DOUBLE_PUSH = 1 << 16;
+    /** The king castles; the move is the king's, and the rook goes with it. */
+    public static final int CASTLE = 1 << 17;
+    /** A pawn captures en passant; the captured pawn is not on the end square. */
+    public static final int EN_PASSANT = 1 << 18;
+
+    private static final ChessPiece.PieceType[] TYPES = ChessPiece.PieceType.values();
+
+    private PackedMove() {
+
+    }
+
+    /**
+     * @param from      The 0-63 start square.
+     * @param to        The 0-63 end square.
+     * @param promotion The promotion type, or null for none.
+     * @param flags     Any of the flag constants or'ed together.
+     * @return The packed move.
+     */
+    public static int encode(int from, int to, ChessPiece.PieceType promotion, int flags) {
+        return from | (to << 6) | ((promotion == null ? 0 : promotion.ordinal() + 1) << 12) | flags;
+    }
+
+    public static int encode(int from, int to, int flags) {
+        return from | (to << 6) | flags;
+    }
+
+    public static int from(int move) {
+        return move & 63;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 63;
+    }
+
+    /**
+     * @return The promotion type of the move, or null if it is not a promotion.
+     */
+    public static ChessPiece.PieceType promotion(int move) {
+        int promotion = (move >>> 12) & 7;
+        return promotion == 0 ? null : TYPES[promotion - 1];
+    }
+
+    public static boolean hasFlag(int move, int flag) {
+        return (move & flag) != 0;
+    }
+
+    /**
+     * @return True if the two encodings describe the same from, to and promotion.
+     */
+    public static boolean sameMove(int first, int second) {
+        return ((first ^ second) & MOVE_MASK) == 0;
+    }
+
+    /**
+     * Builds the public representation of a packed move. The result is the canonical, shared
+     * instance from {@link ChessMove#of}, so this does not allocate.
+     */
+    public static ChessMove toChessMove(int move) {
+        return ChessMove.of(from(move), to(move), promotion(move));
+    }
+
+    /**
+     * Packs a public move. No flags are set, so compare the result with {@link #sameMove}.
+     */
+    public static int fromChessMove(ChessMove move) {
+        return encode(BitboardPosition.squareOf(move.getStartPosition()), BitboardPosition.squareOf(move.getEndPosition()),
+                move.getPromotionPiece(), 0);
+    }
+
+    public static String toString(int move) {
+        return toChessMove(move).toString();
+    }
+}
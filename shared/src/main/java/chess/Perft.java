@@ -0,0 +1,130 @@
+package chess;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the leaf nodes of the legal move tree to a fixed depth ("perft"). Comparing the counts
+ * with the published numbers for the {@link #REFERENCE_POSITIONS} checks move generation, and
+ * timing them measures its speed.
+ */
+public final class Perft {
+
+    /**
+     * A well-known test position and its published node counts, where {@code nodes[d - 1]} is the
+     * count at depth {@code d}.
+     */
+    public record ReferencePosition(String name, String fen, long... nodes) {
+    }
+
+    public static final List<ReferencePosition> REFERENCE_POSITIONS = List.of(
+            new ReferencePosition("start", Fen.START,
+                    20, 400, 8_902, 197_281, 4_865_609, 119_060_324),
+            new ReferencePosition("kiwipete", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                    48, 2_039, 97_862, 4_085_603, 193_690_690, 8_031_647_685L),
+            new ReferencePosition("position3", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                    14, 191, 2_812, 43_238, 674_624, 11_030_083),
+            new ReferencePosition("position4", "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                    6, 264, 9_467, 422_333, 15_833_292, 706_045_033),
+            new ReferencePosition("position5", "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+                    44, 1_486, 62_379, 2_103_487, 89_941_194),
+            new ReferencePosition("position6", "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+                    46, 2_079, 89_890, 3_894_594, 164_075_551, 6_923_051_137L)
+    );
+
+    private Perft() {
+
+    }
+
+    /**
+     * @return The reference position with the given name
+     * @throws IllegalArgumentException if there is no such position
+     */
+    public static ReferencePosition referencePosition(String name) {
+        for (ReferencePosition position : REFERENCE_POSITIONS) {
+            if (position.name().equals(name)) {
+                return position;
+            }
+        }
+        throw new IllegalArgumentException("Unknown reference position: " + name);
+    }
+
+    /**
+     * Counts the positions reachable from a game in exactly {@code depth} moves. The game is
+     * left as it was found.
+     *
+     * @param game  the game to count from; the team whose turn it is moves first
+     * @param depth the number of moves to look ahead
+     * @return The number of leaf nodes
+     */
+    public static long perft(ChessGame game, int depth) {
+        if (depth <= 0) {
+            return 1;
+        }
+        MoveList[] plies = new MoveList[depth];
+        for (int i = 0; i < depth; i++) {
+            plies[i] = new MoveList();
+        }
+        return perft(game, depth, plies);
+    }
+
+    /**
+     * Counts the leaf nodes below each legal first move, which is how a wrong count is narrowed
+     * down to the move that causes it.
+     *
+     * @return The count for each first move, in generation order
+     */
+    public static Map<ChessMove, Long> divide(ChessGame game, int depth) {
+        Map<ChessMove, Long> counts = new LinkedHashMap<>();
+        if (depth <= 0) {
+            return counts;
+        }
+        MoveList[] plies = new MoveList[depth];
+        for (int i = 0; i < depth; i++) {
+            plies[i] = new MoveList();
+        }
+
+        MoveList moves = plies[depth - 1];
+        game.legalMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            game.makeMove(move);
+            counts.put(PackedMove.toChessMove(move), depth == 1 ? 1 : perft(game, depth - 1, plies));
+            game.unmakeMove();
+        }
+        return counts;
+    }
+
+    private static long perft(ChessGame game, int depth, MoveList[] plies) {
+        MoveList moves = plies[depth - 1];
+        moves.clear();
+        game.legalMoves(moves);
+        if (depth == 1) {
+            return moves.size();
+        }
+
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            game.makeMove(moves.get(i));
+            nodes += perft(game, depth - 1, plies);
+            game.unmakeMove();
+        }
+        return nodes;
+    }
+
+    /**
+     * Runs perft from the command line and prints the node count and speed.
+     * Usage: {@code Perft <depth> [fen]}, starting from the standard position if no FEN is given.
+     */
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        String fen = args.length > 1 ? String.join(" ", List.of(args).subList(1, args.length)) : Fen.START;
+        ChessGame game = Fen.toGame(fen);
+
+        long start = System.nanoTime();
+        long nodes = perft(game, depth);
+        long elapsed = Math.max(System.nanoTime() - start, 1);
+        System.out.printf("perft(%d) = %d in %.3f s (%.0f nodes/s)%n", depth, nodes, elapsed / 1e9, nodes * 1e9 / elapsed);
+    }
+}
@@ -0,0 +1,184 @@
+package chess;
+
+/**
+ * The values behind {@link ChessBoard#evaluate()}: what each piece is worth on each square, once
+ * for the middlegame and once for the endgame, and how much each piece counts towards the game
+ * phase that blends the two.
+ * <p>
+ * Values are in centipawns and include the piece's material value. They are from white's point of
+ * view; {@link #middlegame} and {@link #endgame} negate them for black pieces so that a board's
+ * total is simply their sum. Tables are written below as seen from white's side, rank 8 first.
+ */
+public final class PieceSquareTables {
+
+    /** The phase of a board with all its pieces; a board with only kings and pawns is at 0. */
+    public static final int MAX_PHASE = 24;
+
+    // Indexed by PieceType ordinal: KING, QUEEN, BISHOP, KNIGHT, ROOK, PAWN
+    private static final int[] MIDDLEGAME_VALUES = {0, 1025, 365, 337, 477, 82};
+    private static final int[] ENDGAME_VALUES = {0, 936, 297, 281, 512, 94};
+    private static final int[] PHASE_WEIGHTS = {0, 4, 1, 1, 2, 0};
+
+    private static final int[] KING_MIDDLEGAME = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+            20, 20, 0, 0, 0, 0, 20, 20,
+            20, 30, 10, 0, 0, 10, 30, 20
+    };
+
+    private static final int[] KING_ENDGAME = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10, 0, 0, -10, -20, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -30, 0, 0, 0, 0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50
+    };
+
+    private static final int[] QUEEN = {
+            -20, -10, -10, -5, -5, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 5, 5, 5, 0, -10,
+            -5, 0, 5, 5, 5, 5, 0, -5,
+            0, 0, 5, 5, 5, 5, 0, -5,
+            -10, 5, 5, 5, 5, 5, 0, -10,
+            -10, 0, 5, 0, 0, 0, 0, -10,
+            -20, -10, -10, -5, -5, -10, -10, -20
+    };
+
+    private static final int[] BISHOP = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 10, 10, 5, 0, -10,
+            -10, 5, 5, 10, 10, 5, 5, -10,
+            -10, 0, 10, 10, 10, 10, 0, -10,
+            -10, 10, 10, 10, 10, 10, 10, -10,
+            -10, 5, 0, 0, 0, 0, 5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20
+    };
+
+    private static final int[] KNIGHT = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20, 0, 0, 0, 0, -20, -40,
+            -30, 0, 10, 15, 15, 10, 0, -30,
+            -30, 5, 15, 20, 20, 15, 5, -30,
+            -30, 0, 15, 20, 20, 15, 0, -30,
+            -30, 5, 10, 15, 15, 10, 5, -30,
+            -40, -20, 0, 5, 5, 0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50
+    };
+
+    private static final int[] ROOK = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            5, 10, 10, 10, 10, 10, 10, 5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            0, 0, 0, 5, 5, 0, 0, 0
+    };
+
+    private static final int[] PAWN_MIDDLEGAME = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            10, 10, 20, 30, 30, 20, 10, 10,
+            5, 5, 10, 25, 25, 10, 5, 5,
+            0, 0, 0, 20, 20, 0, 0, 0,
+            5, -5, -10, 0, 0, -10, -5, 5,
+            5, 10, 10, -20, -20, 10, 10, 5,
+            0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    // In the endgame only a pawn's progress towards promotion matters
+    private static final int[] PAWN_ENDGAME = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            80, 80, 80, 80, 80, 80, 80, 80,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            30, 30, 30, 30, 30, 30, 30, 30,
+            15, 15, 15, 15, 15, 15, 15, 15,
+            5, 5, 5, 5, 5, 5, 5, 5,
+            0, 0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private static final int[][] MIDDLEGAME_TABLES = {KING_MIDDLEGAME, QUEEN, BISHOP, KNIGHT, ROOK, PAWN_MIDDLEGAME};
+    private static final int[][] ENDGAME_TABLES = {KING_ENDGAME, QUEEN, BISHOP, KNIGHT, ROOK, PAWN_ENDGAME};
+
+    // Signed totals of material plus table value, indexed [pieceIndex * 64 + square]
+    private static final int[] MIDDLEGAME = new int[BitboardPosition.PIECE_TYPES * 2 * 64];
+    private static final int[] ENDGAME = new int[BitboardPosition.PIECE_TYPES * 2 * 64];
+
+    static {
+        for (ChessPiece.PieceType type : ChessPiece.PieceType.values()) {
+            int t = type.ordinal();
+            for (int square = 0; square < 64; square++) {
+                // The tables list rank 8 first, so a white piece's row is mirrored and a black piece's is not
+                int white = BitboardPosition.pieceIndex(ChessGame.TeamColor.WHITE, type) * 64 + square;
+                int black = BitboardPosition.pieceIndex(ChessGame.TeamColor.BLACK, type) * 64 + square;
+                MIDDLEGAME[white] = MIDDLEGAME_VALUES[t] + MIDDLEGAME_TABLES[t][square ^ 56];
+                ENDGAME[white] = ENDGAME_VALUES[t] + ENDGAME_TABLES[t][square ^ 56];
+                MIDDLEGAME[black] = -(MIDDLEGAME_VALUES[t] + MIDDLEGAME_TABLES[t][square]);
+                ENDGAME[black] = -(ENDGAME_VALUES[t] + ENDGAME_TABLES[t][square]);
+            }
+        }
+    }
+
+    private PieceSquareTables() {
+
+    }
+
+    /**
+     * @param piece  the piece, or null for an empty square
+     * @param square the 0-63 square it stands on
+     * @return The piece's middlegame worth on the square, negative for black pieces
+     */
+    public static int middlegame(ChessPiece piece, int square) {
+        return piece == null ? 0 : MIDDLEGAME[index(piece, square)];
+    }
+
+    /**
+     * @param piece  the piece, or null for an empty square
+     * @param square the 0-63 square it stands on
+     * @return The piece's endgame worth on the square, negative for black pieces
+     */
+    public static int endgame(ChessPiece piece, int square) {
+        return piece == null ? 0 : ENDGAME[index(piece, square)];
+    }
+
+    /**
+     * @return How much a piece counts towards the game phase, or 0 for an empty square
+     */
+    public static int phaseWeight(ChessPiece piece) {
+        return piece == null ? 0 : PHASE_WEIGHTS[piece.getPieceType().ordinal()];
+    }
+
+    public static int middlegameValue(ChessPiece.PieceType type) {
+        return MIDDLEGAME_VALUES[type.ordinal()];
+    }
+
+    public static int endgameValue(ChessPiece.PieceType type) {
+        return ENDGAME_VALUES[type.ordinal()];
+    }
+
+    /**
+     * Blends a middlegame and an endgame score by game phase
+     *
+     * @param phase the game phase, from 0 for a bare endgame up to {@link #MAX_PHASE}; larger values count as the maximum
+     * @return The tapered score
+     */
+    public static int taper(int middlegame, int endgame, int phase) {
+        int weight = Math.min(phase, MAX_PHASE);
+        return (middlegame * weight + endgame * (MAX_PHASE - weight)) / MAX_PHASE;
+    }
+
+    private static int index(ChessPiece piece, int square) {
+        return BitboardPosition.pieceIndex(piece.getTeamColor(), piece.getPieceType()) * 64 + square;
+    }
+}
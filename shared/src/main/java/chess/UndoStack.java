@@ -0,0 +1,100 @@
+package chess;
+
+import java.util.Arrays;
+
+/**
+ * Records what {@link ChessBoard#makeMove} changed so that {@link ChessBoard#unmakeMove} can
+ * restore the board exactly. Entries live in parallel arrays that grow as needed and are reused,
+ * so making and unmaking moves does not allocate once the stack has reached its working depth.
+ */
+final class UndoStack {
+
+    private int size;
+    private int[] fromSquares = new int[32];
+    private int[] toSquares = new int[32];
+    private ChessPiece[] movedPieces = new ChessPiece[32];
+    private ChessPiece[] capturedPieces = new ChessPiece[32];
+    private int[] castlingRights = new int[32];
+    private int[] enPassantSquares = new int[32];
+
+    /**
+     * Records a move that is about to be made.
+     *
+     * @param from     The 0-63 square the piece moves from.
+     * @param to       The 0-63 square the piece moves to.
+     * @param moved    The piece as it stood before moving (before any promotion).
+     * @param captured The piece that was captured, or null; for an en passant capture this is the
+     *                 pawn beside the destination square.
+     * @param castling The board's castling rights before the move.
+     * @param enPassant The board's en passant square before the move, or -1.
+     */
+    void push(int from, int to, ChessPiece moved, ChessPiece captured, int castling, int enPassant) {
+        if (size == fromSquares.length) {
+            grow();
+        }
+        fromSquares[size] = from;
+        toSquares[size] = to;
+        movedPieces[size] = moved;
+        capturedPieces[size] = captured;
+        castlingRights[size] = castling;
+        enPassantSquares[size] = enPassant;
+        size++;
+    }
+
+    /**
+     * Removes the most recent entry. Its values stay readable at the returned index until the next push.
+     *
+     * @return The index of the removed entry.
+     */
+    int pop() {
+        if (size == 0) {
+            throw new IllegalStateException("There is no move to undo.");
+        }
+        return --size;
+    }
+
+    /**
+     * Forgets every entry, for when the board is set up afresh and no earlier move can be taken back.
+     */
+    void clear() {
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int from(int index) {
+        return fromSquares[index];
+    }
+
+    int to(int index) {
+        return toSquares[index];
+    }
+
+    ChessPiece moved(int index) {
+        return movedPieces[index];
+    }
+
+    ChessPiece captured(int index) {
+        return capturedPieces[index];
+    }
+
+    int castlingRights(int index) {
+        return castlingRights[index];
+    }
+
+    int enPassantSquare(int index) {
+        return enPassantSquares[index];
+    }
+
+    private void grow() {
+        int capacity = fromSquares.length * 2;
+        fromSquares = Arrays.copyOf(fromSquares, capacity);
+        toSquares = Arrays.copyOf(toSquares, capacity);
+        movedPieces = Arrays.copyOf(movedPieces, capacity);
+        capturedPieces = Arrays.copyOf(capturedPieces, capacity);
+        castlingRights = Arrays.copyOf(castlingRights, capacity);
+        enPassantSquares = Arrays.copyOf(enPassantSquares, capacity);
+    }
+}
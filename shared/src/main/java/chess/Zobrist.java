@@ -0,0 +1,73 @@
+package chess;
+
+import java.util.SplittableRandom;
+
+/**
+ * The random numbers behind Zobrist position keys. A position's key is the XOR of one number for
+ * each piece on each square, plus {@link #BLACK_TO_MOVE} when it is black's turn, so moving a
+ * piece updates the key with two XORs instead of rehashing the board.
+ * <p>
+ * The numbers come from a fixed seed, so keys are the same from run to run.
+ */
+final class Zobrist {
+
+    private static final long[] PIECE_SQUARE = new long[BitboardPosition.PIECE_TYPES * 2 * 64];
+
+    static final long BLACK_TO_MOVE;
+
+    // Indexed by the castling right bits; each entry is the XOR of the numbers of its rights
+    private static final long[] CASTLING = new long[ChessBoard.ALL_CASTLING + 1];
+
+    private static final long[] EN_PASSANT_FILE = new long[8];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_C4E5_5L);
+        for (int i = 0; i < PIECE_SQUARE.length; i++) {
+            PIECE_SQUARE[i] = random.nextLong();
+        }
+        BLACK_TO_MOVE = random.nextLong();
+        long[] rights = new long[4];
+        for (int i = 0; i < rights.length; i++) {
+            rights[i] = random.nextLong();
+        }
+        for (int bits = 0; bits < CASTLING.length; bits++) {
+            for (int i = 0; i < rights.length; i++) {
+                if ((bits & (1 << i)) != 0) {
+                    CASTLING[bits] ^= rights[i];
+                }
+            }
+        }
+        for (int file = 0; file < EN_PASSANT_FILE.length; file++) {
+            EN_PASSANT_FILE[file] = random.nextLong();
+        }
+    }
+
+    private Zobrist() {
+
+    }
+
+    /**
+     * @return The number for a piece on a square, or 0 for an empty square
+     */
+    static long pieceSquare(ChessPiece piece, int square) {
+        if (piece == null) {
+            return 0;
+        }
+        return PIECE_SQUARE[BitboardPosition.pieceIndex(piece.getTeamColor(), piece.getPieceType()) * 64 + square];
+    }
+
+    static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    /**
+     * @return The number for an en passant square, or 0 for -1
+     */
+    static long enPassant(int square) {
+        return square < 0 ? 0 : EN_PASSANT_FILE[square & 7];
+    }
+
+    static long sideToMove(ChessGame.TeamColor team) {
+        return team == ChessGame.TeamColor.BLACK ? BLACK_TO_MOVE : 0;
+    }
+}
@@ -0,0 +1,31 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.ChessPiece;
+
+/**
+ * Static evaluation of a position from the point of view of the side to move, in centipawns. It
+ * reads the board's incrementally kept {@link chess.ChessBoard#evaluate() tapered piece-square
+ * score}, so it costs the same however many pieces are on the board.
+ */
+public final class Evaluation {
+
+    // Indexed by PieceType ordinal: KING, QUEEN, BISHOP, KNIGHT, ROOK, PAWN. Used for move ordering.
+    private static final int[] PIECE_VALUES = {0, 900, 330, 320, 500, 100};
+
+    private Evaluation() {
+
+    }
+
+    public static int pieceValue(ChessPiece.PieceType type) {
+        return PIECE_VALUES[type.ordinal()];
+    }
+
+    /**
+     * @return The score of the position for the team whose turn it is; positive is good for them
+     */
+    public static int evaluate(ChessGame game) {
+        int score = game.getBoard().evaluate();
+        return game.getTeamTurn() == ChessGame.TeamColor.WHITE ? score : -score;
+    }
+}
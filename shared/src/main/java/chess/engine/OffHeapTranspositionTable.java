@@ -0,0 +1,131 @@
+package chess.engine;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * A {@link TranspositionTable} stored outside the Java heap in a {@link MemorySegment}, so that
+ * tables of several gigabytes neither count against the heap nor add to garbage collection work.
+ * It is safe to share between search threads.
+ * <p>
+ * The table is an array of 32-byte buckets, each holding two slots laid out like
+ * {@link SharedTranspositionTable}'s: the key XORed with the entry, then the entry. The first slot
+ * is depth-preferred: it keeps the deepest result for its position, unless that result is from an
+ * earlier search. The second slot always takes whatever the first one turned away. Each
+ * {@link #newSearch()} starts a new generation, which is how entries from earlier searches are
+ * recognized as old.
+ * <p>
+ * The memory is freed by {@link #close()}, after which the table can no longer be used.
+ * <p>
+ * The Foreign Function &amp; Memory API is a preview API in Java 21, so a JVM that uses this
+ * class must be started with {@code --enable-preview}.
+ */
+public final class OffHeapTranspositionTable implements TranspositionTable, AutoCloseable {
+
+    private static final long BUCKET_BYTES = 32;
+    private static final long SLOT_BYTES = 16;
+    private static final long CACHE_LINE = 64;
+
+    private final Arena arena;
+    private final MemorySegment buckets;
+    private final long mask;
+    private volatile int generation;
+
+    /**
+     * @param megabytes the most memory to use; the bucket count is rounded down to a power of two
+     */
+    public OffHeapTranspositionTable(long megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("Table size must be at least 1 MB: " + megabytes);
+        }
+        long bucketCount = Long.highestOneBit(megabytes * 1024 * 1024 / BUCKET_BYTES);
+        this.arena = Arena.ofShared();
+        this.buckets = arena.allocate(bucketCount * BUCKET_BYTES, CACHE_LINE);
+        this.buckets.fill((byte) 0);
+        this.mask = bucketCount - 1;
+    }
+
+    @Override
+    public long probe(long key) {
+        long bucket = bucketOffset(key);
+        long entry = entryAt(bucket);
+        if (entry != 0 && (checkAt(bucket) ^ entry) == key) {
+            return entry;
+        }
+        entry = entryAt(bucket + SLOT_BYTES);
+        if (entry != 0 && (checkAt(bucket + SLOT_BYTES) ^ entry) == key) {
+            return entry;
+        }
+        return 0;
+    }
+
+    @Override
+    public void store(long key, int move, int score, int depth, int bound) {
+        int current = generation;
+        long entry = TranspositionTable.entry(move, score, depth, bound, current);
+        long bucket = bucketOffset(key);
+
+        long preferred = entryAt(bucket);
+        boolean samePosition = (checkAt(bucket) ^ preferred) == key;
+        if (preferred == 0
+                || TranspositionTable.generation(preferred) != (current & 0xFF)
+                || depth >= TranspositionTable.depth(preferred)) {
+            write(bucket, key, entry);
+        } else if (!samePosition) {
+            write(bucket + SLOT_BYTES, key, entry);
+        }
+    }
+
+    /**
+     * Starts a new generation, so entries stored before now are replaced before newer ones.
+     */
+    @Override
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    @Override
+    public void clear() {
+        buckets.fill((byte) 0);
+    }
+
+    /**
+     * @return The number of entries the table can hold
+     */
+    public long capacity() {
+        return (mask + 1) * 2;
+    }
+
+    /**
+     * @return The off-heap memory the table uses, in bytes
+     */
+    public long byteSize() {
+        return buckets.byteSize();
+    }
+
+    /**
+     * Frees the table's memory. The table must not be in use by any search.
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private long bucketOffset(long key) {
+        return (key & mask) * BUCKET_BYTES;
+    }
+
+    private long checkAt(long slot) {
+        return buckets.get(ValueLayout.JAVA_LONG, slot);
+    }
+
+    private long entryAt(long slot) {
+        return buckets.get(ValueLayout.JAVA_LONG, slot + 8);
+    }
+
+    private void write(long slot, long key, long entry) {
+        buckets.set(ValueLayout.JAVA_LONG, slot, key ^ entry);
+        buckets.set(ValueLayout.JAVA_LONG, slot + 8, entry);
+    }
+}
@@ -0,0 +1,92 @@
+package chess.engine;
+
+import chess.ChessGame;
+
+/**
+ * Searches on several threads at once with "Lazy SMP": every thread runs its own
+ * {@link Search} of the same position, and they share one lock-free {@link TranspositionTable}.
+ * What one thread stores shortens the others' searches, so the main thread reaches a given depth
+ * sooner than it would alone. Helper threads start one ply deeper on every other thread so they
+ * do not all search the same tree in lockstep.
+ * <p>
+ * The result is the main thread's, with the node count of all threads.
+ */
+public class ParallelSearch {
+
+    private final TranspositionTable table;
+    private final Search[] searches;
+
+    /**
+     * @param threads the number of search threads, including the calling thread
+     */
+    public ParallelSearch(int threads) {
+        this(threads, new SharedTranspositionTable());
+    }
+
+    /**
+     * @param threads the number of search threads, including the calling thread
+     * @param table   the table the threads share; it must be safe for concurrent use
+     */
+    public ParallelSearch(int threads, TranspositionTable table) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one search thread is needed: " + threads);
+        }
+        this.table = table;
+        this.searches = new Search[threads];
+        for (int i = 0; i < threads; i++) {
+            searches[i] = new Search(table);
+        }
+    }
+
+    public int getThreads() {
+        return searches.length;
+    }
+
+    /**
+     * Searches a position on all threads, returning once the calling thread's search reaches a
+     * limit. Helpers ignore the node limit and are stopped when the main search returns.
+     *
+     * @param game   the position to search; it is not changed
+     * @param limits when the main search should stop
+     * @return The main search's result, counting the nodes of every thread
+     */
+    public SearchResult search(ChessGame game, SearchLimits limits) {
+        table.newSearch();
+        for (Search search : searches) {
+            search.clearStop();
+        }
+        SearchLimits helperLimits = new SearchLimits(limits.maxDepth(), Long.MAX_VALUE, limits.maxTimeMillis());
+        Thread[] helpers = new Thread[searches.length - 1];
+        long[] helperNodes = new long[helpers.length];
+        for (int i = 0; i < helpers.length; i++) {
+            int helper = i;
+            Search search = searches[i + 1];
+            helpers[i] = new Thread(() -> helperNodes[helper] = search.search(game, helperLimits, 1 + (helper + 1) % 2).nodes(),
+                    "search-helper-" + (i + 1));
+            helpers[i].setDaemon(true);
+            helpers[i].start();
+        }
+
+        SearchResult result;
+        try {
+            result = searches[0].search(game, limits, 1);
+        } finally {
+            for (int i = 1; i < searches.length; i++) {
+                searches[i].stop();
+            }
+        }
+
+        long nodes = result.nodes();
+        for (int i = 0; i < helpers.length; i++) {
+            try {
+                helpers[i].join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            nodes += helperNodes[i];
+        }
+        return new SearchResult(result.bestMove(), result.score(), result.depth(), result.principalVariation(),
+                nodes, result.elapsedNanos());
+    }
+}
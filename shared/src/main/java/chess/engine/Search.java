@@ -0,0 +1,352 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.MoveList;
+import chess.PackedMove;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the best move in a position with a negamax alpha-beta search, deepening one ply at a
+ * time until a {@link SearchLimits limit} is reached. Leaves are resolved with a capture-only
+ * quiescence search so that scores are not taken in the middle of an exchange.
+ * <p>
+ * Positions already searched are looked up in a {@link TranspositionTable}, which can be shared
+ * with other searches; see {@link ParallelSearch}.
+ * <p>
+ * A search works on its own copy of the game, so the game passed in is never changed. A
+ * {@code Search} keeps per-ply buffers between calls and is not thread-safe; use one per thread.
+ */
+public class Search {
+
+    /** The score of being checkmated right now. Mate in n plies scores {@code MATE - n}. */
+    public static final int MATE = 100_000;
+
+    private static final int INFINITY = MATE + 1;
+    private static final int MAX_PLY = SearchLimits.MAX_DEPTH + 64;
+    private static final int TIME_CHECK_INTERVAL = 1024;
+
+    private static final int PV_MOVE_ORDER = 1 << 30;
+    private static final int CAPTURE_ORDER = 1 << 20;
+
+    private final MoveList[] plyMoves = new MoveList[MAX_PLY];
+    private final int[][] orderScores = new int[MAX_PLY][];
+    private final int[][] pvTable = new int[MAX_PLY][MAX_PLY];
+    private final int[] pvLength = new int[MAX_PLY];
+    // The score of the root move at the head of pvTable[0], which was searched to the end even
+    // when the iteration it belongs to was stopped
+    private int rootScore;
+    private int[] previousPv = new int[0];
+    private final TranspositionTable table;
+
+    private ChessGame position;
+    private long nodes;
+    private long nodeLimit;
+    private boolean timed;
+    private long deadline;
+    private boolean stopped;
+    private volatile boolean stopRequested;
+
+    public Search() {
+        this(new SharedTranspositionTable(SharedTranspositionTable.DEFAULT_ENTRIES / 16));
+    }
+
+    /**
+     * @param table the transposition table to read and fill; it is kept between searches
+     */
+    public Search(TranspositionTable table) {
+        this.table = table;
+        for (int ply = 0; ply < MAX_PLY; ply++) {
+            plyMoves[ply] = new MoveList();
+            orderScores[ply] = new int[64];
+        }
+    }
+
+    /**
+     * @return True if a score means a forced mate, for either side
+     */
+    public static boolean isMateScore(int score) {
+        return Math.abs(score) >= MATE - MAX_PLY;
+    }
+
+    /**
+     * Searches a position for the move to play
+     *
+     * @param game   the position to search; the team whose turn it is moves first
+     * @param limits when to stop searching
+     * @return The best move found, its score and principal variation, and search statistics
+     */
+    public SearchResult search(ChessGame game, SearchLimits limits) {
+        stopRequested = false;
+        table.newSearch();
+        return search(game, limits, 1);
+    }
+
+    /**
+     * Asks a running search, for example on another thread, to return as soon as it can with the
+     * best move found so far.
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    void clearStop() {
+        stopRequested = false;
+    }
+
+    SearchResult search(ChessGame game, SearchLimits limits, int firstDepth) {
+        long start = System.nanoTime();
+        position = game.copy(0);
+        nodes = 0;
+        nodeLimit = limits.maxNodes();
+        timed = limits.maxTimeMillis() < Long.MAX_VALUE / 1_000_000;
+        deadline = timed ? start + limits.maxTimeMillis() * 1_000_000 : 0;
+        stopped = false;
+        previousPv = new int[0];
+
+        int[] bestPv = new int[0];
+        int bestScore = 0;
+        int completedDepth = 0;
+        for (int depth = Math.min(firstDepth, limits.maxDepth()); depth <= limits.maxDepth(); depth++) {
+            int score = negamax(depth, 0, -INFINITY, INFINITY);
+            // An unfinished iteration's line is only kept if nothing better is known yet
+            if (pvLength[0] > 0 && (!stopped || bestPv.length == 0)) {
+                bestPv = new int[pvLength[0]];
+                System.arraycopy(pvTable[0], 0, bestPv, 0, bestPv.length);
+                // A stopped negamax returns 0, which is not a score
+                bestScore = stopped ? rootScore : score;
+            }
+            if (stopped) {
+                break;
+            }
+            completedDepth = depth;
+            previousPv = bestPv;
+            if (isMateScore(score)) {
+                break;
+            }
+        }
+
+        if (bestPv.length == 0) {
+            // Out of budget before any move was scored, or there is no move at all
+            MoveList moves = plyMoves[0];
+            moves.clear();
+            position.legalMoves(moves);
+            if (moves.isEmpty()) {
+                bestScore = position.isInCheck(position.getTeamTurn()) ? -MATE : 0;
+            } else {
+                bestPv = new int[]{moves.get(0)};
+                bestScore = Evaluation.evaluate(position);
+            }
+        }
+        List<ChessMove> principalVariation = new ArrayList<>(bestPv.length);
+        for (int move : bestPv) {
+            principalVariation.add(PackedMove.toChessMove(move));
+        }
+        ChessMove bestMove = principalVariation.isEmpty() ? null : principalVariation.get(0);
+        return new SearchResult(bestMove, bestScore, completedDepth, principalVariation, nodes, System.nanoTime() - start);
+    }
+
+    private int negamax(int depth, int ply, int alpha, int beta) {
+        pvLength[ply] = 0;
+        if (depth <= 0 || ply >= MAX_PLY - 1) {
+            return quiescence(ply, alpha, beta);
+        }
+        if (countNodeAndCheckLimits()) {
+            return 0;
+        }
+        // A position seen before on this line, or in the game, can be steered into again, so
+        // it is scored as the draw it leads to, as is one where neither side can mate
+        if (ply > 0 && (position.getRepetitionCount() > 1 || position.isInsufficientMaterial())) {
+            return 0;
+        }
+
+        long key = position.getPositionKey();
+        long entry = table.probe(key);
+        int hashMove = -1;
+        if (entry != 0) {
+            hashMove = TranspositionTable.move(entry);
+            // Cutting off with an exact score inside the window would cut the principal variation short
+            int score = fromTable(TranspositionTable.score(entry), ply);
+            int bound = TranspositionTable.bound(entry);
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth
+                    && (bound == TranspositionTable.EXACT ? score <= alpha || score >= beta
+                    : bound == TranspositionTable.LOWER ? score >= beta : score <= alpha)) {
+                return score;
+            }
+        }
+
+        MoveList moves = plyMoves[ply];
+        moves.clear();
+        position.legalMoves(moves);
+        if (moves.isEmpty()) {
+            return position.isInCheck(position.getTeamTurn()) ? -MATE + ply : 0;
+        }
+        // Checkmate on the last move before the fifty-move rule still wins, so this comes after
+        if (ply > 0 && position.isFiftyMoveRule()) {
+            return 0;
+        }
+        orderMoves(moves, ply, hashMove, false);
+
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            position.makeMove(move);
+            int score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+            position.unmakeMove();
+            if (stopped) {
+                return 0;
+            }
+
+            if (score > best) {
+                best = score;
+                bestMove = move;
+            }
+            if (score > alpha) {
+                alpha = score;
+                updatePv(ply, move);
+                if (ply == 0) {
+                    rootScore = score;
+                }
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+        }
+
+        int bound = best >= beta ? TranspositionTable.LOWER
+                : best > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+        table.store(key, bestMove, toTable(best, ply), depth, bound);
+        return best;
+    }
+
+    private int quiescence(int ply, int alpha, int beta) {
+        pvLength[ply] = 0;
+        if (countNodeAndCheckLimits()) {
+            return 0;
+        }
+
+        int standPat = Evaluation.evaluate(position);
+        if (standPat >= beta || ply >= MAX_PLY - 1) {
+            return standPat;
+        }
+        if (standPat > alpha) {
+            alpha = standPat;
+        }
+
+        MoveList moves = plyMoves[ply];
+        moves.clear();
+        position.legalMoves(moves);
+        orderMoves(moves, ply, -1, true);
+
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            position.makeMove(move);
+            int score = -quiescence(ply + 1, -beta, -alpha);
+            position.unmakeMove();
+            if (stopped) {
+                return 0;
+            }
+
+            if (score >= beta) {
+                return score;
+            }
+            if (score > alpha) {
+                alpha = score;
+                updatePv(ply, move);
+            }
+        }
+        return alpha;
+    }
+
+    private boolean countNodeAndCheckLimits() {
+        if (++nodes >= nodeLimit || (nodes % TIME_CHECK_INTERVAL == 0
+                && (stopRequested || timed && System.nanoTime() - deadline >= 0))) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    private void updatePv(int ply, int move) {
+        int[] line = pvTable[ply];
+        line[0] = move;
+        System.arraycopy(pvTable[ply + 1], 0, line, 1, pvLength[ply + 1]);
+        pvLength[ply] = pvLength[ply + 1] + 1;
+    }
+
+    /**
+     * Sorts moves best-first: the transposition table's move and the previous iteration's move at
+     * this ply, then captures by most valuable victim and least valuable attacker, then
+     * promotions, then everything else. With {@code tacticalOnly}, quiet moves are dropped from
+     * the list instead.
+     */
+    private void orderMoves(MoveList moves, int ply, int hashMove, boolean tacticalOnly) {
+        ChessBoard board = position.getBoard();
+        int pvMove = ply < previousPv.length ? previousPv[ply] : -1;
+        if (orderScores[ply].length < moves.size()) {
+            orderScores[ply] = new int[moves.size() * 2];
+        }
+        int[] scores = orderScores[ply];
+
+        int kept = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int score = 0;
+            if (PackedMove.hasFlag(move, PackedMove.CAPTURE)) {
+                ChessPiece victim = board.getBitboards().pieceAt(PackedMove.to(move));
+                ChessPiece attacker = board.getBitboards().pieceAt(PackedMove.from(move));
+                // An en passant capture's victim is not on the end square, and is always a pawn
+                ChessPiece.PieceType victimType = victim == null ? ChessPiece.PieceType.PAWN : victim.getPieceType();
+                score += CAPTURE_ORDER + Evaluation.pieceValue(victimType) * 16
+                        - Evaluation.pieceValue(attacker.getPieceType()) / 16;
+            }
+            ChessPiece.PieceType promotion = PackedMove.promotion(move);
+            if (promotion != null) {
+                score += Evaluation.pieceValue(promotion);
+            }
+            if (tacticalOnly && score == 0) {
+                continue;
+            }
+            if ((pvMove >= 0 && PackedMove.sameMove(move, pvMove)) || (hashMove > 0 && PackedMove.sameMove(move, hashMove))) {
+                score += PV_MOVE_ORDER;
+            }
+            moves.set(kept, move);
+            scores[kept++] = score;
+        }
+
+        // Insertion sort, stable so that equal moves keep generation order
+        for (int i = 1; i < kept; i++) {
+            int move = moves.get(i);
+            int score = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < score) {
+                moves.set(j + 1, moves.get(j));
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            moves.set(j + 1, move);
+            scores[j + 1] = score;
+        }
+        moves.truncate(kept);
+    }
+
+    // Mate scores are stored as distance from the stored position rather than from the root
+    private static int toTable(int score, int ply) {
+        if (isMateScore(score)) {
+            return score > 0 ? score + ply : score - ply;
+        }
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (isMateScore(score)) {
+            return score > 0 ? score - ply : score + ply;
+        }
+        return score;
+    }
+}
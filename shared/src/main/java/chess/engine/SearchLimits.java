@@ -0,0 +1,34 @@
+package chess.engine;
+
+/**
+ * When a {@link Search} should stop: after a depth is finished, after a number of nodes, or after
+ * an amount of time, whichever comes first.
+ *
+ * @param maxDepth      the deepest iteration to search, in plies
+ * @param maxNodes      the number of nodes to search before stopping
+ * @param maxTimeMillis the wall-clock time to search before stopping
+ */
+public record SearchLimits(int maxDepth, long maxNodes, long maxTimeMillis) {
+
+    /** The deepest a search can go, so that fixed-size per-ply tables are enough. */
+    public static final int MAX_DEPTH = 64;
+
+    public SearchLimits {
+        if (maxDepth < 1 || maxNodes < 1 || maxTimeMillis < 1) {
+            throw new IllegalArgumentException("Search limits must be positive");
+        }
+        maxDepth = Math.min(maxDepth, MAX_DEPTH);
+    }
+
+    public static SearchLimits depth(int depth) {
+        return new SearchLimits(depth, Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    public static SearchLimits nodes(long nodes) {
+        return new SearchLimits(MAX_DEPTH, nodes, Long.MAX_VALUE);
+    }
+
+    public static SearchLimits time(long millis) {
+        return new SearchLimits(MAX_DEPTH, Long.MAX_VALUE, millis);
+    }
+}
@@ -0,0 +1,31 @@
+package chess.engine;
+
+import chess.ChessMove;
+
+import java.util.List;
+
+/**
+ * The outcome of a {@link Search}.
+ *
+ * @param bestMove           the move to play, or null if the side to move has no legal move
+ * @param score              the score of the best move in centipawns for the side to move; see
+ *                           {@link Search#isMateScore}
+ * @param depth              the last depth that was searched completely
+ * @param principalVariation the expected line of play, starting with the best move
+ * @param nodes              the number of positions visited
+ * @param elapsedNanos       how long the search took
+ */
+public record SearchResult(ChessMove bestMove, int score, int depth, List<ChessMove> principalVariation,
+                           long nodes, long elapsedNanos) {
+
+    public SearchResult {
+        principalVariation = List.copyOf(principalVariation);
+    }
+
+    /**
+     * @return The search speed in nodes per second
+     */
+    public long nodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : (long) (nodes * 1e9 / elapsedNanos);
+    }
+}
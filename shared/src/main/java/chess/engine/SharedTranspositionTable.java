@@ -0,0 +1,75 @@
+package chess.engine;
+
+import java.util.Arrays;
+
+/**
+ * A lock-free {@link TranspositionTable} on the Java heap that any number of search threads can
+ * probe and store into at once.
+ * <p>
+ * Each slot is two {@code long}s: the entry, and the key XORed with the entry. Threads read and
+ * write the two halves without locking, so a slot can be caught half-written; probing recomputes
+ * the key from both halves and treats a mismatch as a miss, so a torn slot is never used.
+ * <p>
+ * A slot is replaced when the new entry is for a different position, or is at least as deep as
+ * the one already there.
+ */
+public final class SharedTranspositionTable implements TranspositionTable {
+
+    /** The number of entries a table has unless it is given a size: 16 MB worth. */
+    public static final int DEFAULT_ENTRIES = 1 << 20;
+
+    private final long[] slots;
+    private final int mask;
+
+    public SharedTranspositionTable() {
+        this(DEFAULT_ENTRIES);
+    }
+
+    /**
+     * @param entries the number of entries, rounded up to a power of two
+     */
+    public SharedTranspositionTable(int entries) {
+        if (entries < 1 || entries > 1 << 29) {
+            throw new IllegalArgumentException("Entries must be between 1 and 2^29: " + entries);
+        }
+        int size = entries == 1 ? 1 : Integer.highestOneBit(entries - 1) << 1;
+        this.slots = new long[size * 2];
+        this.mask = size - 1;
+    }
+
+    @Override
+    public long probe(long key) {
+        int index = index(key);
+        long entry = slots[index + 1];
+        long check = slots[index];
+        return (check ^ entry) == key ? entry : 0;
+    }
+
+    @Override
+    public void store(long key, int move, int score, int depth, int bound) {
+        int index = index(key);
+        long existing = slots[index + 1];
+        if (existing != 0 && (slots[index] ^ existing) == key && TranspositionTable.depth(existing) > depth) {
+            return;
+        }
+        long entry = TranspositionTable.entry(move, score, depth, bound, 0);
+        slots[index] = key ^ entry;
+        slots[index + 1] = entry;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(slots, 0);
+    }
+
+    /**
+     * @return The number of entries the table can hold
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    private int index(long key) {
+        return (int) (key & mask) << 1;
+    }
+}
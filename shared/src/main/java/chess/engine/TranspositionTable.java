@@ -0,0 +1,78 @@
+package chess.engine;
+
+/**
+ * Remembers what a search learned about positions, keyed by {@link chess.ChessGame#getPositionKey()},
+ * so a position reached again (by another move order, in a later iteration, or by another search
+ * thread) does not have to be searched again.
+ * <p>
+ * An entry is packed into one {@code long} with {@link #entry}, and 0 means "no entry". From the
+ * low bits up it holds the move (15 bits, see {@link chess.PackedMove#MOVE_MASK}), the score as a
+ * signed 20-bit number, the depth (7 bits), the {@link #EXACT}/{@link #LOWER}/{@link #UPPER}
+ * bound (2 bits) and the search generation it was stored in (8 bits).
+ * <p>
+ * Implementations must be safe to share between search threads.
+ */
+public interface TranspositionTable {
+
+    /** The score is the exact value of the position. */
+    int EXACT = 1;
+    /** The search failed high: the value is at least the score. */
+    int LOWER = 2;
+    /** The search failed low: the value is at most the score. */
+    int UPPER = 3;
+
+    int MAX_DEPTH = 127;
+
+    /**
+     * @return The entry stored for a key, or 0 if there is none
+     */
+    long probe(long key);
+
+    /**
+     * Stores what was learned about a position. The table may keep an existing entry instead.
+     *
+     * @param move  the best packed move found, or 0 for none
+     * @param score the score, already adjusted so that it does not depend on the ply it was found at
+     * @param depth the depth the position was searched to
+     * @param bound {@link #EXACT}, {@link #LOWER} or {@link #UPPER}
+     */
+    void store(long key, int move, int score, int depth, int bound);
+
+    /**
+     * Tells the table a new search is starting, so it can prefer replacing entries from older
+     * searches. Does nothing unless the table ages its entries.
+     */
+    default void newSearch() {
+
+    }
+
+    void clear();
+
+    static long entry(int move, int score, int depth, int bound, int generation) {
+        return (move & 0x7FFFL)
+                | ((score & 0xFFFFFL) << 15)
+                | ((long) Math.min(depth, MAX_DEPTH) << 35)
+                | ((long) bound << 42)
+                | ((long) (generation & 0xFF) << 44);
+    }
+
+    static int move(long entry) {
+        return (int) (entry & 0x7FFF);
+    }
+
+    static int score(long entry) {
+        return (int) (entry << 29 >> 44);
+    }
+
+    static int depth(long entry) {
+        return (int) (entry >>> 35) & 0x7F;
+    }
+
+    static int bound(long entry) {
+        return (int) (entry >>> 42) & 3;
+    }
+
+    static int generation(long entry) {
+        return (int) (entry >>> 44) & 0xFF;
+    }
+}
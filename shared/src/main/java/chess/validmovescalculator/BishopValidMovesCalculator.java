@@ -2,28 +2,19 @@ package chess.validmovescalculator;
 
 import chess.*;
 
-import java.util.Collection;
-import java.util.HashSet;
-
 public class BishopValidMovesCalculator implements PieceMovesCalculator {
 
+    public static final BishopValidMovesCalculator INSTANCE = new BishopValidMovesCalculator();
+
     @Override
-    public Collection<ChessMove> pieceMoves(ChessBoard board, ChessPosition position) {
+    public void pieceMoves(ChessBoard board, ChessPosition position, MoveList moves) {
         ChessGame.TeamColor color = board.getPiece(position).getTeamColor();
-        HashSet<ChessMove> validMoves = new HashSet<>();
-
-        // Check upper-left diagonal
-        CalculatorUtils.calculateUpperLeftMoves(board, position, color, validMoves, 8);
-
-        // Check upper-right diagonal
-        CalculatorUtils.calculateUpperRightMoves(board, position, color, validMoves, 8);
-
-        // Check lower-left diagonal
-        CalculatorUtils.calculateLowerLeftMoves(board, position, color, validMoves, 8);
-
-        // Check lower-right diagonal
-        CalculatorUtils.calculateLowerRightMoves(board, position, color, validMoves, 8);
+        BitboardPosition bitboards = board.getBitboards();
+        int from = BitboardPosition.squareOf(position);
 
-        return validMoves;
+        // Bishop can move along the four diagonals, up to and including the first blocker
+        long attacks = MagicBitboards.bishopAttacks(from, bitboards.getOccupied());
+        CalculatorUtils.addMoves(from, attacks & ~bitboards.getOccupancy(color),
+                bitboards.getOccupancy(BitboardPosition.opponent(color)), moves);
     }
-}
\ No newline at end of file
+}
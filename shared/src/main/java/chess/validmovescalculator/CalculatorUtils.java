@@ -4,6 +4,8 @@ import chess.ChessBoard;
 import chess.ChessGame;
 import chess.ChessMove;
 import chess.ChessPosition;
+import chess.MoveList;
+import chess.PackedMove;
 
 import java.util.HashSet;
 
@@ -16,15 +18,33 @@ public class CalculatorUtils {
     private static boolean processMove(ChessBoard board, ChessPosition start, ChessPosition target, ChessGame.TeamColor color, HashSet<ChessMove> moves) {
         var pieceAtTarget = board.getPiece(target);
         if (pieceAtTarget == null) {
-            moves.add(new ChessMove(start, target, null)); // Empty square, valid move
+            moves.add(ChessMove.of(start, target, null)); // Empty square, valid move
             return true; // Continue processing
         } else if (pieceAtTarget.getTeamColor() != color) {
-            moves.add(new ChessMove(start, target, null)); // Capture opponent's piece
+            moves.add(ChessMove.of(start, target, null)); // Capture opponent's piece
             return false; // Stop after capture
         }
         return false; // Stop when encountering a friendly piece
     }
 
+    /**
+     * Adds a packed move from the start square to every square in a target bitboard.
+     *
+     * @param from    The 0-63 square the piece moves from.
+     * @param targets The set of squares the piece can move to.
+     * @param enemies The set of squares holding opposing pieces, used to flag captures.
+     * @param moves   The list to add the moves to.
+     */
+    public static void addMoves(int from, long targets, long enemies, MoveList moves) {
+        for (; targets != 0; targets &= targets - 1) {
+            int to = Long.numberOfTrailingZeros(targets);
+            moves.add(PackedMove.encode(from, to, (enemies & (1L << to)) != 0 ? PackedMove.CAPTURE : 0));
+        }
+    }
+
+    // The ray walkers below were the original move generation for sliding pieces and the king.
+    // The calculators now use bitboards, and SlidingMovesEquivalenceTests checks them against these.
+
     public static void calculateUpperLeftMoves(ChessBoard board, ChessPosition position, ChessGame.TeamColor color, HashSet<ChessMove> moves, int limit) {
         int row = position.getRow();
         int col = position.getColumn();
@@ -32,7 +52,7 @@ public class CalculatorUtils {
 
         for (int i = row - 1, j = col - 1; i >= 1 && j >= 1; i--, j--) {
             if (count == limit) break;
-            ChessPosition target = new ChessPosition(i, j);
+            ChessPosition target = ChessPosition.of(i, j);
             if (!processMove(board, position, target, color, moves)) break;
             count++;
         }
@@ -45,7 +65,7 @@ public class CalculatorUtils {
 
         for (int i = row - 1, j = col + 1; i >= 1 && j <= BOARD_WIDTH; i--, j++) {
             if (count == limit) break;
-            ChessPosition target = new ChessPosition(i, j);
+            ChessPosition target = ChessPosition.of(i, j);
             if (!processMove(board, position, target, color, moves)) break;
             count++;
         }
@@ -58,7 +78,7 @@ public class CalculatorUtils {
 
         for (int i = row + 1, j = col - 1; i <= BOARD_HEIGHT && j >= 1; i++, j--) {
             if (count == limit) break;
-            ChessPosition target = new ChessPosition(i, j);
+            ChessPosition target = ChessPosition.of(i, j);
             if (!processMove(board, position, target, color, moves)) break;
             count++;
         }
@@ -71,7 +91,7 @@ public class CalculatorUtils {
 
         for (int i = row + 1, j = col + 1; i <= BOARD_HEIGHT && j <= BOARD_WIDTH; i++, j++) {
             if (count == limit) break;
-            ChessPosition target = new ChessPosition(i, j);
+            ChessPosition target = ChessPosition.of(i, j);
             if (!processMove(board, position, target, color, moves)) break;
             count++;
         }
@@ -84,7 +104,7 @@ public class CalculatorUtils {
 
         for (int j = col - 1; j >= 1; j--) {
             if (count == limit) break;
-            ChessPosition target = new ChessPosition(row, j);
+            ChessPosition target = ChessPosition.of(row, j);
             if (!processMove(board, position, target, color, moves)) break;
             count++;
         }
@@ -97,7 +117,7 @@ public class CalculatorUtils {
 
         for (int j = col + 1; j <= BOARD_WIDTH; j++) {
             if (count == limit) break;
-            ChessPosition target = new ChessPosition(row, j);
+            ChessPosition target = ChessPosition.of(row, j);
             if (!processMove(board, position, target, color, moves)) break;
             count++;
         }
@@ -110,7 +130,7 @@ public class CalculatorUtils {
 
         for (int i = row - 1; i >= 1; i--) {
             if (count == limit) break;
-            ChessPosition target = new ChessPosition(i, col);
+            ChessPosition target = ChessPosition.of(i, col);
             if (!processMove(board, position, target, color, moves)) break;
             count++;
         }
@@ -123,7 +143,7 @@ public class CalculatorUtils {
 
         for (int i = row + 1; i <= BOARD_HEIGHT; i++) {
             if (count == limit) break;
-            ChessPosition target = new ChessPosition(i, col);
+            ChessPosition target = ChessPosition.of(i, col);
             if (!processMove(board, position, target, color, moves)) break;
             count++;
         }
@@ -2,81 +2,71 @@ package chess.validmovescalculator;
 
 import chess.*;
 
-import java.util.Collection;
-import java.util.HashSet;
-
 public class PawnValidMovesCalculator implements PieceMovesCalculator {
 
+    public static final PawnValidMovesCalculator INSTANCE = new PawnValidMovesCalculator();
+
+    private static final ChessPiece.PieceType[] PROMOTION_TYPES = {
+            ChessPiece.PieceType.QUEEN, ChessPiece.PieceType.BISHOP, ChessPiece.PieceType.ROOK, ChessPiece.PieceType.KNIGHT
+    };
+
     @Override
-    public Collection<ChessMove> pieceMoves(ChessBoard board, ChessPosition position) {
+    public void pieceMoves(ChessBoard board, ChessPosition position, MoveList moves) {
         ChessGame.TeamColor color = board.getPiece(position).getTeamColor();
-        HashSet<ChessMove> validMoves = new HashSet<>();
         int direction = (color == ChessGame.TeamColor.WHITE) ? 1 : -1; // White moves up, Black moves down
         int startRow = (color == ChessGame.TeamColor.WHITE) ? 2 : 7;    // Starting row for double move
         int promotionRow = (color == ChessGame.TeamColor.WHITE) ? 8 : 1; // Row for promotion
 
+        int row = position.getRow();
+        if (row + direction < 1 || row + direction > 8) {
+            return; // A pawn on the far row has nowhere to go
+        }
+
         // Check forward moves
-        calculateForwardMoves(board, position, validMoves, direction, startRow, promotionRow);
+        calculateForwardMoves(board, position, moves, direction, startRow, promotionRow);
 
         // Check diagonal captures (left and right)
-        calculateDiagonalCapture(board, position, validMoves, direction, promotionRow);
-
-        return validMoves;
+        calculateDiagonalCapture(board, position, color, moves, row + direction == promotionRow);
     }
 
-    private void calculateForwardMoves(ChessBoard board, ChessPosition position, HashSet<ChessMove> validMoves, int direction, int startRow, int promotionRow) {
+    private void calculateForwardMoves(ChessBoard board, ChessPosition position, MoveList moves, int direction, int startRow, int promotionRow) {
+        long occupied = board.getBitboards().getOccupied();
         int row = position.getRow();
-        int col = position.getColumn();
+        int from = BitboardPosition.squareOf(position);
 
         // Single forward move
-        ChessPosition forwardPosition = new ChessPosition(row + direction, col);
-        if (board.getPiece(forwardPosition) == null) {
-            addMoveWithPromotionCheck(position, forwardPosition, validMoves, row + direction == promotionRow);
+        int forward = from + 8 * direction;
+        if ((occupied & (1L << forward)) != 0) {
+            return;
         }
+        addMoveWithPromotionCheck(from, forward, 0, moves, row + direction == promotionRow);
 
         // Double forward move if on the starting row
         if (row == startRow) {
-            ChessPosition doubleForwardPosition = new ChessPosition(row + 2 * direction, col);
-            if (board.getPiece(forwardPosition) == null && board.getPiece(doubleForwardPosition) == null) {
-                validMoves.add(new ChessMove(position, doubleForwardPosition, null));
+            int doubleForward = forward + 8 * direction;
+            if ((occupied & (1L << doubleForward)) == 0) {
+                moves.add(PackedMove.encode(from, doubleForward, PackedMove.DOUBLE_PUSH));
             }
         }
     }
 
-    private void calculateDiagonalCapture(ChessBoard board, ChessPosition position, HashSet<ChessMove> validMoves, int direction, int promotionRow) {
-        int row = position.getRow();
-        int col = position.getColumn();
+    private void calculateDiagonalCapture(ChessBoard board, ChessPosition position, ChessGame.TeamColor color, MoveList moves, boolean isPromotion) {
+        int from = BitboardPosition.squareOf(position);
+        long enemies = board.getBitboards().getOccupancy(BitboardPosition.opponent(color));
 
-        // Left diagonal capture
-        if (col > 1) {
-            ChessPosition leftDiagonal = new ChessPosition(row + direction, col - 1);
-            if (isOpponentPiece(board, position, leftDiagonal)) {
-                addMoveWithPromotionCheck(position, leftDiagonal, validMoves, row + direction == promotionRow);
-            }
-        }
-
-        // Right diagonal capture
-        if (col < 8) {
-            ChessPosition rightDiagonal = new ChessPosition(row + direction, col + 1);
-            if (isOpponentPiece(board, position, rightDiagonal)) {
-                addMoveWithPromotionCheck(position, rightDiagonal, validMoves, row + direction == promotionRow);
-            }
+        // Left diagonal capture comes first, since it is the lower square
+        for (long captures = BitboardPosition.pawnAttacks(color, from) & enemies; captures != 0; captures &= captures - 1) {
+            addMoveWithPromotionCheck(from, Long.numberOfTrailingZeros(captures), PackedMove.CAPTURE, moves, isPromotion);
         }
     }
 
-    private boolean isOpponentPiece(ChessBoard board, ChessPosition currentPosition, ChessPosition targetPosition) {
-        ChessPiece targetPiece = board.getPiece(targetPosition);
-        return targetPiece != null && targetPiece.getTeamColor() != board.getPiece(currentPosition).getTeamColor();
-    }
-
-    private void addMoveWithPromotionCheck(ChessPosition start, ChessPosition end, HashSet<ChessMove> validMoves, boolean isPromotion) {
+    private void addMoveWithPromotionCheck(int from, int to, int flags, MoveList moves, boolean isPromotion) {
         if (isPromotion) {
-            validMoves.add(new ChessMove(start, end, ChessPiece.PieceType.QUEEN));
-            validMoves.add(new ChessMove(start, end, ChessPiece.PieceType.BISHOP));
-            validMoves.add(new ChessMove(start, end, ChessPiece.PieceType.ROOK));
-            validMoves.add(new ChessMove(start, end, ChessPiece.PieceType.KNIGHT));
+            for (ChessPiece.PieceType type : PROMOTION_TYPES) {
+                moves.add(PackedMove.encode(from, to, type, flags));
+            }
         } else {
-            validMoves.add(new ChessMove(start, end, null));
+            moves.add(PackedMove.encode(from, to, flags));
         }
     }
-}
\ No newline at end of file
+}
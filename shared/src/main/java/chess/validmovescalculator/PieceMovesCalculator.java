@@ -3,10 +3,48 @@ package chess.validmovescalculator;
 import chess.ChessBoard;
 import chess.ChessMove;
 import chess.ChessPosition;
+import chess.MoveCollection;
+import chess.MoveList;
 
 import java.util.Collection;
+import java.util.HashSet;
 
+/**
+ * Calculates the moves a piece can make from a position, without considering whether they leave
+ * the king in check.
+ * <p>
+ * Implementations must be stateless: they may not keep anything in fields between or during calls,
+ * and everything a call needs comes from its arguments. That makes a single instance of each
+ * calculator safe to share across pieces, boards and threads, which is how {@link chess.ChessPiece}
+ * uses them (see each implementation's {@code INSTANCE}).
+ */
 public interface PieceMovesCalculator {
     // Method to calculate valid moves for a chess piece
-    Collection<ChessMove> pieceMoves(ChessBoard board, ChessPosition position);
-}
\ No newline at end of file
+    default Collection<ChessMove> pieceMoves(ChessBoard board, ChessPosition position) {
+        return new HashSet<>(pieceMoveCollection(board, position));
+    }
+
+    /**
+     * Calculates the piece's moves into an immutable, array-backed collection in generation
+     * order, which is cheaper to build than the set {@link #pieceMoves(ChessBoard, ChessPosition)} returns.
+     *
+     * @param board    The current chessboard.
+     * @param position The position of the piece to move.
+     * @return The piece's moves.
+     */
+    default MoveCollection pieceMoveCollection(ChessBoard board, ChessPosition position) {
+        MoveList moves = new MoveList(32);
+        pieceMoves(board, position, moves);
+        return MoveCollection.copyOf(moves);
+    }
+
+    /**
+     * Appends the piece's moves to a caller-supplied list as {@link chess.PackedMove packed moves},
+     * without allocating anything once the list has grown to size.
+     *
+     * @param board    The current chessboard.
+     * @param position The position of the piece to move.
+     * @param moves    The list the moves are added to; it is not cleared first.
+     */
+    void pieceMoves(ChessBoard board, ChessPosition position, MoveList moves);
+}
@@ -1,34 +1,20 @@
 package chess.validmovescalculator;
 
-
-import chess.*;
-import java.util.Collection;
-import java.util.HashSet;
-
-
 import chess.*;
-import java.util.Collection;
-import java.util.HashSet;
 
 public class QueenValidMovesCalculator implements PieceMovesCalculator {
 
+    public static final QueenValidMovesCalculator INSTANCE = new QueenValidMovesCalculator();
+
     @Override
-    public Collection<ChessMove> pieceMoves(ChessBoard board, ChessPosition position) {
+    public void pieceMoves(ChessBoard board, ChessPosition position, MoveList moves) {
         ChessGame.TeamColor color = board.getPiece(position).getTeamColor();
-        HashSet<ChessMove> validMoves = new HashSet<>();
-
-        // Straight directions (up, down, left, right)
-        CalculatorUtils.calculateUpwardMoves(board, position, color, validMoves, 8);
-        CalculatorUtils.calculateDownwardMoves(board, position, color, validMoves, 8);
-        CalculatorUtils.calculateLeftMoves(board, position, color, validMoves, 8);
-        CalculatorUtils.calculateRightMoves(board, position, color, validMoves, 8);
-
-        // Diagonal directions (upper-left, upper-right, lower-left, lower-right)
-        CalculatorUtils.calculateUpperLeftMoves(board, position, color, validMoves, 8);
-        CalculatorUtils.calculateUpperRightMoves(board, position, color, validMoves, 8);
-        CalculatorUtils.calculateLowerLeftMoves(board, position, color, validMoves, 8);
-        CalculatorUtils.calculateLowerRightMoves(board, position, color, validMoves, 8);
+        BitboardPosition bitboards = board.getBitboards();
+        int from = BitboardPosition.squareOf(position);
 
-        return validMoves;
+        // Queen combines the straight and diagonal directions, up to and including the first blocker
+        long attacks = MagicBitboards.queenAttacks(from, bitboards.getOccupied());
+        CalculatorUtils.addMoves(from, attacks & ~bitboards.getOccupancy(color),
+                bitboards.getOccupancy(BitboardPosition.opponent(color)), moves);
     }
-}
\ No newline at end of file
+}
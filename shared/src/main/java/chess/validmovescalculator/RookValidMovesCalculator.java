@@ -1,22 +1,20 @@
 package chess.validmovescalculator;
 
 import chess.*;
-import java.util.Collection;
-import java.util.HashSet;
 
 public class RookValidMovesCalculator implements PieceMovesCalculator {
 
+    public static final RookValidMovesCalculator INSTANCE = new RookValidMovesCalculator();
+
     @Override
-    public Collection<ChessMove> pieceMoves(ChessBoard board, ChessPosition position) {
+    public void pieceMoves(ChessBoard board, ChessPosition position, MoveList moves) {
         ChessGame.TeamColor color = board.getPiece(position).getTeamColor();
-        HashSet<ChessMove> validMoves = new HashSet<>();
-
-        // Rook can move in straight lines (up, down, left, right)
-        CalculatorUtils.calculateUpwardMoves(board, position, color, validMoves, 8);    // Upward direction
-        CalculatorUtils.calculateDownwardMoves(board, position, color, validMoves, 8);  // Downward direction
-        CalculatorUtils.calculateLeftMoves(board, position, color, validMoves, 8);      // Left direction
-        CalculatorUtils.calculateRightMoves(board, position, color, validMoves, 8);     // Right direction
+        BitboardPosition bitboards = board.getBitboards();
+        int from = BitboardPosition.squareOf(position);
 
-        return validMoves;
+        // Rook can move in straight lines (up, down, left, right), up to and including the first blocker
+        long attacks = MagicBitboards.rookAttacks(from, bitboards.getOccupied());
+        CalculatorUtils.addMoves(from, attacks & ~bitboards.getOccupancy(color),
+                bitboards.getOccupancy(BitboardPosition.opponent(color)), moves);
     }
 }
@@ -0,0 +1,72 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static passoff.chess.TestUtilities.loadBoard;
+
+public class AttackMapTests {
+
+    @Test
+    @DisplayName("Incremental Map Matches Fresh Map During Random Games")
+    public void incrementalMatchesRebuild() {
+        Random random = new Random(240);
+        for (int game = 0; game < 50; game++) {
+            var board = new ChessBoard();
+            board.resetBoard();
+            var attackMap = board.enableAttackMap();
+            var color = ChessGame.TeamColor.WHITE;
+
+            for (int ply = 0; ply < 60; ply++) {
+                var moves = new ArrayList<ChessMove>();
+                for (int row = 1; row <= 8; row++) {
+                    for (int col = 1; col <= 8; col++) {
+                        var position = new ChessPosition(row, col);
+                        var piece = board.getPiece(position);
+                        // Pawns on the last rank have no moves to generate
+                        if (piece != null && piece.getTeamColor() == color && (row > 1 && row < 8 || piece.getPieceType() != ChessPiece.PieceType.PAWN)) {
+                            moves.addAll(piece.pieceMoves(board, position));
+                        }
+                    }
+                }
+                if (moves.isEmpty()) break;
+                board.makeMove(moves.get(random.nextInt(moves.size())));
+                color = BitboardPosition.opponent(color);
+
+                var fresh = new AttackMap(board.getBitboards());
+                for (var team : ChessGame.TeamColor.values()) {
+                    Assertions.assertEquals(fresh.getAttacks(team), attackMap.getAttacks(team),
+                            "Attack map out of date after ply " + ply + " on " + board);
+                }
+            }
+        }
+    }
+
+
+    @Test
+    @DisplayName("Square Attacked Without Generating Moves")
+    public void squareAttacked() {
+        var board = loadBoard("""
+                | | | | |k| | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | |p| | |
+                | | | | | | | | |
+                |R| | | |K| | | |
+                """);
+        Assertions.assertTrue(board.isSquareAttacked(new ChessPosition(2, 5), ChessGame.TeamColor.BLACK));
+        Assertions.assertFalse(board.isSquareAttacked(new ChessPosition(2, 6), ChessGame.TeamColor.BLACK));
+        Assertions.assertTrue(board.isSquareAttacked(new ChessPosition(1, 4), ChessGame.TeamColor.WHITE));
+        Assertions.assertFalse(board.isSquareAttacked(new ChessPosition(1, 7), ChessGame.TeamColor.WHITE));
+
+        board.enableAttackMap();
+        Assertions.assertTrue(board.isSquareAttacked(new ChessPosition(2, 5), ChessGame.TeamColor.BLACK));
+        Assertions.assertFalse(board.isSquareAttacked(new ChessPosition(1, 7), ChessGame.TeamColor.WHITE));
+    }
+}
@@ -0,0 +1,71 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static passoff.chess.TestUtilities.loadBoard;
+
+public class BitboardPositionTests {
+
+    @Test
+    @DisplayName("Round Trip Through ChessBoard")
+    public void roundTrip() {
+        var board = new ChessBoard();
+        board.resetBoard();
+
+        var position = BitboardPosition.fromBoard(board);
+
+        Assertions.assertEquals(board, position.toBoard());
+        Assertions.assertEquals(position, board.getBitboards());
+        Assertions.assertEquals(0xFFFFL, position.getOccupancy(ChessGame.TeamColor.WHITE));
+        Assertions.assertEquals(0xFFFFL << 48, position.getOccupancy(ChessGame.TeamColor.BLACK));
+    }
+
+
+    @Test
+    @DisplayName("Board Keeps Bitboards In Sync")
+    public void boardKeepsBitboardsInSync() throws InvalidMoveException {
+        var board = loadBoard("""
+                | | | | |k| | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | |K| | |R|
+                """);
+        var rook = board.getPiece(new ChessPosition(1, 8));
+        board.addPiece(new ChessPosition(8, 8), rook);
+        board.removePiece(new ChessPosition(1, 8), rook);
+
+        var bitboards = board.getBitboards();
+        Assertions.assertEquals(BitboardPosition.fromBoard(board), bitboards);
+        Assertions.assertEquals(1L << 63, bitboards.getPieces(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        Assertions.assertTrue(bitboards.isInCheck(ChessGame.TeamColor.BLACK));
+        Assertions.assertFalse(bitboards.isInCheck(ChessGame.TeamColor.WHITE));
+    }
+
+
+    @Test
+    @DisplayName("Attackers Found From Target Square")
+    public void attackersTo() {
+        var board = loadBoard("""
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | |q| | | | |
+                | | | | | |n| | |
+                | | | |K| | | | |
+                | | |p| | | | | |
+                | | | | | | | | |
+                | | | |r| | | | |
+                """);
+        long attackers = board.getBitboards().attackersTo(BitboardPosition.squareOf(4, 4), ChessGame.TeamColor.BLACK);
+
+        long expected = (1L << BitboardPosition.squareOf(6, 4))  // Queen down the file
+                | (1L << BitboardPosition.squareOf(1, 4))        // Rook up the file
+                | (1L << BitboardPosition.squareOf(5, 6));       // Knight
+        Assertions.assertEquals(expected, attackers);
+    }
+}
@@ -0,0 +1,171 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static passoff.chess.TestUtilities.loadBoard;
+
+/**
+ * Tests for the state ChessBoard keeps up to date as pieces are added and removed.
+ */
+public class ChessBoardTrackingTests {
+
+    @Test
+    @DisplayName("King Squares Tracked")
+    public void kingSquaresTracked() throws InvalidMoveException {
+        var board = new ChessBoard();
+        Assertions.assertNull(board.getKingPosition(ChessGame.TeamColor.WHITE));
+
+        board.resetBoard();
+        Assertions.assertEquals(new ChessPosition(1, 5), board.getKingPosition(ChessGame.TeamColor.WHITE));
+        Assertions.assertEquals(new ChessPosition(8, 5), board.getKingPosition(ChessGame.TeamColor.BLACK));
+
+        var whiteKing = board.getPiece(new ChessPosition(1, 5));
+        board.removePiece(new ChessPosition(1, 5), whiteKing);
+        Assertions.assertNull(board.getKingPosition(ChessGame.TeamColor.WHITE));
+
+        board.addPiece(new ChessPosition(4, 4), whiteKing);
+        Assertions.assertEquals(new ChessPosition(4, 4), board.getKingPosition(ChessGame.TeamColor.WHITE));
+
+        // Capturing the king by overwriting its square clears it too
+        board.addPiece(new ChessPosition(4, 4), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN));
+        Assertions.assertNull(board.getKingPosition(ChessGame.TeamColor.WHITE));
+    }
+
+
+    @Test
+    @DisplayName("King Squares Follow Make And Unmake")
+    public void kingSquaresFollowMoves() throws CloneNotSupportedException {
+        var board = loadBoard("""
+                | | | | |k| | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | |K| | | |
+                """);
+        board.makeMove(new ChessMove(new ChessPosition(8, 5), new ChessPosition(7, 4), null));
+        Assertions.assertEquals(new ChessPosition(7, 4), board.getKingPosition(ChessGame.TeamColor.BLACK));
+        Assertions.assertEquals(new ChessPosition(7, 4), board.clone().getKingPosition(ChessGame.TeamColor.BLACK));
+
+        board.unmakeMove();
+        Assertions.assertEquals(new ChessPosition(8, 5), board.getKingPosition(ChessGame.TeamColor.BLACK));
+    }
+
+
+    @Test
+    @DisplayName("Zobrist Key Follows Placement")
+    public void zobristKeyFollowsPlacement() throws CloneNotSupportedException, InvalidMoveException {
+        var board = new ChessBoard();
+        Assertions.assertEquals(0, board.getZobristKey());
+        board.resetBoard();
+        var start = board.getZobristKey();
+        var reference = new ChessBoard();
+        reference.resetBoard();
+
+        // The knights go out and back, arriving at the same position by a different path
+        board.makeMove(new ChessMove(new ChessPosition(1, 7), new ChessPosition(3, 6), null));
+        Assertions.assertNotEquals(start, board.getZobristKey());
+        Assertions.assertNotEquals(reference, board);
+        Assertions.assertEquals(board.clone().getZobristKey(), board.getZobristKey());
+        board.makeMove(new ChessMove(new ChessPosition(8, 7), new ChessPosition(6, 6), null));
+        board.makeMove(new ChessMove(new ChessPosition(3, 6), new ChessPosition(1, 7), null));
+        board.makeMove(new ChessMove(new ChessPosition(6, 6), new ChessPosition(8, 7), null));
+        Assertions.assertEquals(start, board.getZobristKey());
+        Assertions.assertEquals(reference, board);
+        Assertions.assertEquals(reference.hashCode(), board.hashCode());
+
+        board.unmakeMove();
+        board.unmakeMove();
+        board.removePiece(new ChessPosition(3, 6), board.getPiece(new ChessPosition(3, 6)));
+        board.addPiece(new ChessPosition(1, 7), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
+        Assertions.assertEquals(board.clone().getZobristKey(), board.getZobristKey());
+
+        board.resetBoard();
+        Assertions.assertEquals(start, board.getZobristKey());
+    }
+
+
+    @Test
+    @DisplayName("Position Key Includes Side To Move")
+    public void positionKeyIncludesSideToMove() throws InvalidMoveException {
+        var game = new ChessGame();
+        game.getBoard().resetBoard();
+        var whiteToMove = game.getPositionKey();
+
+        game.setTeamTurn(ChessGame.TeamColor.BLACK);
+        Assertions.assertNotEquals(whiteToMove, game.getPositionKey());
+        Assertions.assertEquals(game.getBoard().getZobristKey() ^ Zobrist.castling(ChessBoard.ALL_CASTLING), whiteToMove);
+
+        game.setTeamTurn(ChessGame.TeamColor.WHITE);
+        game.makeMove(new ChessMove(new ChessPosition(1, 2), new ChessPosition(3, 3), null));
+        game.makeMove(new ChessMove(new ChessPosition(8, 2), new ChessPosition(6, 3), null));
+        game.makeMove(new ChessMove(new ChessPosition(3, 3), new ChessPosition(1, 2), null));
+        game.makeMove(new ChessMove(new ChessPosition(6, 3), new ChessPosition(8, 2), null));
+        Assertions.assertEquals(whiteToMove, game.getPositionKey());
+    }
+
+
+    @Test
+    @DisplayName("Evaluation Follows Placement")
+    public void evaluationFollowsPlacement() {
+        var game = Fen.toGame(Fen.START);
+        var board = game.getBoard();
+        Assertions.assertEquals(0, board.evaluate());
+        Assertions.assertEquals(PieceSquareTables.MAX_PHASE, board.getGamePhase());
+
+        // Random games, checking the kept totals against a full rescan after every move and take-back
+        var random = new Random(240);
+        var moves = new MoveList();
+        for (int round = 0; round < 20; round++) {
+            int played = 0;
+            for (int ply = 0; ply < 80; ply++) {
+                moves.clear();
+                game.legalMoves(moves);
+                if (moves.isEmpty()) break;
+                game.makeMove(moves.get(random.nextInt(moves.size())));
+                played++;
+                assertTotalsMatchRescan(board);
+            }
+            for (; played > 0; played--) {
+                game.unmakeMove();
+                assertTotalsMatchRescan(board);
+            }
+        }
+        Assertions.assertEquals(0, board.evaluate());
+    }
+
+
+    @Test
+    @DisplayName("Evaluation Is Symmetric")
+    public void evaluationIsSymmetric() {
+        var white = Fen.toGame("4k3/8/8/8/3N4/8/1P6/4K3 w - - 0 1").getBoard();
+        var black = Fen.toGame("4k3/1p6/8/3n4/8/8/8/4K3 w - - 0 1").getBoard();
+
+        Assertions.assertTrue(white.evaluate() > 0);
+        Assertions.assertEquals(-white.evaluate(), black.evaluate());
+        Assertions.assertEquals(1, white.getGamePhase());
+        Assertions.assertEquals(0, new ChessBoard().evaluate());
+    }
+
+    private static void assertTotalsMatchRescan(ChessBoard board) {
+        int middlegame = 0;
+        int endgame = 0;
+        int phase = 0;
+        for (int square = 0; square < 64; square++) {
+            var piece = board.getPiece(BitboardPosition.positionOf(square));
+            middlegame += PieceSquareTables.middlegame(piece, square);
+            endgame += PieceSquareTables.endgame(piece, square);
+            phase += PieceSquareTables.phaseWeight(piece);
+        }
+        Assertions.assertEquals(middlegame, board.getMiddlegameScore());
+        Assertions.assertEquals(endgame, board.getEndgameScore());
+        Assertions.assertEquals(phase, board.getGamePhase());
+        Assertions.assertEquals(PieceSquareTables.taper(middlegame, endgame, phase), board.evaluate());
+    }
+}
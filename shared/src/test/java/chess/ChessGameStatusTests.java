@@ -0,0 +1,55 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ChessGameStatusTests {
+
+    @Test
+    @DisplayName("Status Of Each State")
+    public void statusOfEachState() {
+        Assertions.assertEquals(new GameStatus(ChessGame.TeamColor.WHITE, GameStatus.State.IN_PROGRESS),
+                Fen.toGame(Fen.START).getStatus());
+        Assertions.assertEquals(new GameStatus(ChessGame.TeamColor.BLACK, GameStatus.State.CHECK),
+                Fen.toGame("4k3/8/8/8/8/8/8/4RK2 b - - 0 1").getStatus());
+        Assertions.assertEquals(new GameStatus(ChessGame.TeamColor.WHITE, GameStatus.State.CHECKMATE),
+                Fen.toGame("rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3").getStatus());
+        Assertions.assertEquals(new GameStatus(ChessGame.TeamColor.BLACK, GameStatus.State.STALEMATE),
+                Fen.toGame("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1").getStatus());
+    }
+
+
+    @Test
+    @DisplayName("Status Agrees With Separate Queries")
+    public void agreesWithQueries() {
+        ChessGame game = Fen.toGame("rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3");
+        GameStatus status = game.getStatus();
+        Assertions.assertTrue(status.isCheck());
+        Assertions.assertTrue(status.isOver());
+        Assertions.assertTrue(game.isInCheck(ChessGame.TeamColor.WHITE));
+        Assertions.assertTrue(game.isInCheckmate(ChessGame.TeamColor.WHITE));
+        Assertions.assertFalse(game.isInStalemate(ChessGame.TeamColor.WHITE));
+        Assertions.assertFalse(game.isInCheck(ChessGame.TeamColor.BLACK));
+    }
+
+
+    @Test
+    @DisplayName("Status Is Kept Until The Position Changes")
+    public void memoizedUntilChange() throws InvalidMoveException {
+        ChessGame game = Fen.toGame("4k3/8/8/8/8/8/8/R3K3 w - - 0 1");
+        GameStatus status = game.getStatus();
+        Assertions.assertSame(status, game.getStatus());
+
+        game.makeMove(new ChessMove(new ChessPosition(1, 1), new ChessPosition(8, 1), null));
+        GameStatus afterMove = game.getStatus();
+        Assertions.assertEquals(new GameStatus(ChessGame.TeamColor.BLACK, GameStatus.State.CHECK), afterMove);
+
+        // Changing the board directly is noticed too
+        game.getBoard().addPiece(new ChessPosition(8, 2), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
+        Assertions.assertEquals(GameStatus.State.IN_PROGRESS, game.getStatus().state());
+
+        game.setTeamTurn(ChessGame.TeamColor.WHITE);
+        Assertions.assertEquals(ChessGame.TeamColor.WHITE, game.getStatus().teamTurn());
+    }
+}
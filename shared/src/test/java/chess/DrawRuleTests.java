@@ -0,0 +1,156 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class DrawRuleTests {
+
+    @Test
+    @DisplayName("Knights Shuffling Repeat The Start Position")
+    public void threefoldRepetition() throws InvalidMoveException {
+        ChessGame game = Fen.toGame(Fen.START);
+        for (int round = 1; round <= 2; round++) {
+            game.makeMove(move(1, 7, 3, 6));
+            game.makeMove(move(8, 7, 6, 6));
+            game.makeMove(move(3, 6, 1, 7));
+            Assertions.assertEquals(round, game.getRepetitionCount(), "Black still has a knight out");
+            game.makeMove(move(6, 6, 8, 7));
+            Assertions.assertEquals(round + 1, game.getRepetitionCount());
+        }
+        Assertions.assertTrue(game.isThreefoldRepetition());
+        Assertions.assertEquals(8, game.getHalfmoveClock());
+
+        game.unmakeMove();
+        Assertions.assertEquals(2, game.getRepetitionCount());
+        Assertions.assertFalse(game.isThreefoldRepetition());
+        Assertions.assertEquals(7, game.getHalfmoveClock());
+    }
+
+
+    @Test
+    @DisplayName("Pawn Moves And Captures Reset The Clock")
+    public void irreversibleMoves() throws InvalidMoveException {
+        ChessGame game = Fen.toGame("4k3/8/8/3p4/8/8/4P3/R3K3 w - - 12 40");
+        Assertions.assertEquals(12, game.getHalfmoveClock());
+        game.makeMove(move(1, 1, 2, 1));
+        Assertions.assertEquals(13, game.getHalfmoveClock());
+        game.makeMove(move(8, 5, 8, 4));
+        game.makeMove(move(2, 5, 4, 5));
+        Assertions.assertEquals(0, game.getHalfmoveClock(), "Pawn move");
+        game.makeMove(move(5, 4, 4, 5));
+        Assertions.assertEquals(0, game.getHalfmoveClock(), "Capture");
+
+        game.unmakeMove();
+        game.unmakeMove();
+        Assertions.assertEquals(14, game.getHalfmoveClock());
+    }
+
+
+    @Test
+    @DisplayName("Repetitions Before An Irreversible Move Do Not Count")
+    public void repetitionStopsAtIrreversibleMove() throws InvalidMoveException {
+        ChessGame game = Fen.toGame("4k3/8/8/8/8/8/4P3/R3K3 w - - 0 1");
+        shuffleRooksAndKings(game);
+        Assertions.assertEquals(2, game.getRepetitionCount());
+        game.makeMove(move(2, 5, 3, 5));
+        Assertions.assertEquals(1, game.getRepetitionCount());
+        game.makeMove(move(8, 5, 8, 4));
+        game.makeMove(move(1, 1, 2, 1));
+        game.makeMove(move(8, 4, 8, 5));
+        game.makeMove(move(2, 1, 1, 1));
+        Assertions.assertEquals(2, game.getRepetitionCount(), "Only the repeats since the pawn move count");
+    }
+
+
+    @Test
+    @DisplayName("Fifty Move Rule From The Clock")
+    public void fiftyMoveRule() throws InvalidMoveException {
+        ChessGame game = Fen.toGame("4k3/8/8/8/8/8/8/R3K3 w - - 99 80");
+        Assertions.assertFalse(game.isFiftyMoveRule());
+        game.makeMove(move(1, 1, 2, 1));
+        Assertions.assertTrue(game.isFiftyMoveRule());
+        game.unmakeMove();
+        Assertions.assertFalse(game.isFiftyMoveRule());
+    }
+
+
+    @Test
+    @DisplayName("Copy Keeps The History")
+    public void copyKeepsHistory() throws InvalidMoveException {
+        ChessGame game = Fen.toGame("4k3/8/8/8/8/8/8/R3K3 w - - 0 1");
+        shuffleRooksAndKings(game);
+        ChessGame copy = game.copy(0);
+        Assertions.assertEquals(game.getPositionKey(), copy.getPositionKey());
+        Assertions.assertEquals(2, copy.getRepetitionCount());
+        Assertions.assertEquals(4, copy.getHalfmoveClock());
+
+        shuffleRooksAndKings(copy);
+        Assertions.assertTrue(copy.isThreefoldRepetition());
+        Assertions.assertEquals(2, game.getRepetitionCount(), "The original is not changed");
+        Assertions.assertThrows(IllegalStateException.class, () -> {
+            for (int i = 0; i < 5; i++) {
+                copy.unmakeMove();
+            }
+        });
+    }
+
+
+    @Test
+    @DisplayName("Setting A Board Clears The History")
+    public void setBoardClearsHistory() throws InvalidMoveException {
+        ChessGame game = Fen.toGame("4k3/8/8/8/8/8/8/R3K3 w - - 30 1");
+        shuffleRooksAndKings(game);
+        game.setBoard(game.getBoard());
+        Assertions.assertEquals(0, game.getHalfmoveClock());
+        Assertions.assertEquals(1, game.getRepetitionCount());
+    }
+
+
+    @Test
+    @DisplayName("Unmaking Stops At A Set Board")
+    public void unmakeStopsAtSetBoard() throws InvalidMoveException {
+        ChessGame game = Fen.toGame("4k3/8/8/8/8/8/8/R3K3 w - - 30 1");
+        game.makeMove(move(1, 1, 2, 1));
+        game.makeMove(move(8, 5, 8, 4));
+        game.setBoard(game.getBoard());
+        game.makeMove(move(2, 1, 3, 1));
+        long key = game.getPositionKey();
+
+        game.unmakeMove();
+        Assertions.assertEquals(0, game.getHalfmoveClock());
+        Assertions.assertThrows(IllegalStateException.class, game::unmakeMove);
+        Assertions.assertEquals(ChessGame.TeamColor.WHITE, game.getTeamTurn(), "A failed unmake changes nothing");
+        game.makeMove(move(2, 1, 3, 1));
+        Assertions.assertEquals(key, game.getPositionKey());
+    }
+
+
+    @Test
+    @DisplayName("Moves Made On The Board Leave The History Alone")
+    public void boardMovesLeaveHistory() throws InvalidMoveException {
+        ChessGame game = Fen.toGame("4k3/8/8/8/8/8/8/R3K3 w - - 30 1");
+        game.makeMove(move(1, 1, 2, 1));
+        game.getBoard().makeMove(move(8, 5, 8, 4));
+        game.setTeamTurn(ChessGame.TeamColor.WHITE);
+
+        game.unmakeMove();
+        Assertions.assertEquals(31, game.getHalfmoveClock(), "The board's own move has no history entry");
+        game.unmakeMove();
+        Assertions.assertEquals(30, game.getHalfmoveClock());
+    }
+
+
+    // Ra1-a2, Ke8-d8, Ra2-a1, Kd8-e8: back to the starting position with the same side to move
+    private static void shuffleRooksAndKings(ChessGame game) throws InvalidMoveException {
+        game.makeMove(move(1, 1, 2, 1));
+        game.makeMove(move(8, 5, 8, 4));
+        game.makeMove(move(2, 1, 1, 1));
+        game.makeMove(move(8, 4, 8, 5));
+    }
+
+
+    private static ChessMove move(int startRow, int startCol, int endRow, int endCol) {
+        return new ChessMove(new ChessPosition(startRow, startCol), new ChessPosition(endRow, endCol), null);
+    }
+}
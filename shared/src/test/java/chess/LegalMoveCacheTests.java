@@ -0,0 +1,95 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static passoff.chess.TestUtilities.loadBoard;
+
+public class LegalMoveCacheTests {
+
+    @Test
+    @DisplayName("Repeated Queries Hit The Cache")
+    public void repeatedQueriesHit() throws InvalidMoveException {
+        var game = new ChessGame();
+        game.getBoard().resetBoard();
+        var cache = game.getMoveCache();
+
+        Assertions.assertEquals(2, game.validMoves(new ChessPosition(2, 5)).size());
+        Assertions.assertEquals(2, game.validMoves(new ChessPosition(1, 7)).size());
+        game.makeMove(new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null));
+        Assertions.assertEquals(1, cache.getMisses());
+        Assertions.assertEquals(1, cache.getHits());
+
+        // Black to move is a new position
+        Assertions.assertEquals(2, game.validMoves(new ChessPosition(8, 2)).size());
+        Assertions.assertEquals(2, cache.getMisses());
+        Assertions.assertEquals(2, cache.size());
+    }
+
+
+    @Test
+    @DisplayName("Board Changes Use A Different Entry")
+    public void boardChangesInvalidate() {
+        var game = new ChessGame();
+        game.setBoard(loadBoard("""
+                | | | | |k| | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                | | | | | | | | |
+                |R| | | |K| | | |
+                """));
+        Assertions.assertEquals(10, game.validMoves(new ChessPosition(1, 1)).size());
+
+        game.getBoard().addPiece(new ChessPosition(5, 1), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+        Assertions.assertEquals(7, game.validMoves(new ChessPosition(1, 1)).size());
+        Assertions.assertEquals(2, game.getMoveCache().getMisses());
+    }
+
+
+    @Test
+    @DisplayName("Least Recently Used Position Is Evicted")
+    public void leastRecentlyUsedEvicted() throws InvalidMoveException {
+        var game = new ChessGame(2);
+        game.getBoard().resetBoard();
+        var cache = game.getMoveCache();
+        var start = new ChessPosition(1, 2);
+
+        game.validMoves(start);
+        game.setTeamTurn(ChessGame.TeamColor.BLACK);
+        game.validMoves(new ChessPosition(8, 2));
+        game.setTeamTurn(ChessGame.TeamColor.WHITE);
+        game.validMoves(start);
+        Assertions.assertEquals(1, cache.getHits());
+
+        // The position after a move evicts the oldest entry, black's
+        game.makeMove(new ChessMove(start, new ChessPosition(3, 3), null));
+        game.validMoves(new ChessPosition(8, 2));
+        game.unmakeMove();
+        game.validMoves(start);
+        Assertions.assertEquals(2, cache.getHits());
+        Assertions.assertEquals(2, cache.size());
+
+        game.setTeamTurn(ChessGame.TeamColor.BLACK);
+        game.validMoves(new ChessPosition(8, 2));
+        Assertions.assertEquals(2, cache.getHits());
+        Assertions.assertEquals(4, cache.getMisses());
+    }
+
+
+    @Test
+    @DisplayName("Zero Capacity Turns The Cache Off")
+    public void zeroCapacity() {
+        var game = new ChessGame(0);
+        game.getBoard().resetBoard();
+
+        game.validMoves(new ChessPosition(2, 1));
+        game.validMoves(new ChessPosition(2, 1));
+        Assertions.assertEquals(0, game.getMoveCache().getHits());
+        Assertions.assertEquals(0, game.getMoveCache().size());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ChessGame(-1));
+    }
+}
@@ -0,0 +1,158 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class LegalMoveGeneratorTests {
+
+    @Test
+    @DisplayName("Matches Make/Unmake On Reference Positions")
+    public void matchesOnReferencePositions() {
+        for (Perft.ReferencePosition position : Perft.REFERENCE_POSITIONS) {
+            assertTreeMatches(Fen.toGame(position.fen()), 2, position.name());
+        }
+    }
+
+
+    @Test
+    @DisplayName("Matches Make/Unmake On Pins And Checks")
+    public void matchesOnPinsAndChecks() {
+        String[] fens = {
+                "4k3/8/8/8/4r3/8/4R3/4K3 w - - 0 1",          // Rook pinned on a file, can slide along it
+                "4k3/8/8/1b6/8/3N4/8/5K2 w - - 0 1",          // Knight pinned on a diagonal, cannot move
+                "4k3/8/8/8/8/8/3p4/4K3 w - - 0 1",            // Pawn check, king captures or steps aside
+                "4k3/8/8/8/1b6/8/2P1N3/4K3 w - - 0 1",        // Bishop check, blocked by a pawn push or the knight
+                "4k3/8/8/8/4r3/8/3n4/4K3 w - - 0 1",          // Double check, only the king moves
+                "3qk3/8/8/8/8/8/3P4/3K3r w - - 0 1",          // King may not step along the checking rank
+                "4k3/8/8/8/8/7b/4PP2/4K2r w - - 0 1",         // Checked along the first rank, nothing blocks
+                "4K3/8/8/8/8/8/R1pk4/8 b - - 0 1",            // Black to move, pawn pinned on the rank it promotes from
+                "1r2k3/P7/8/8/8/8/8/4K3 w - - 0 1",           // Promotions by push and capture
+                "4k3/8/8/8/8/8/8/R3K2r w - - 0 1",            // Checking rook can be captured along the rank
+                "r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1",       // Castling both ways for both sides
+                "r3k2r/8/8/8/8/8/6b1/R3K2R w KQkq - 0 1",     // Kingside castling passes an attacked square
+                "r3k2r/8/8/8/8/8/8/RN2K2R w KQ - 0 1",        // Queenside castling is blocked
+                "8/8/8/K1Pp3r/8/8/8/4k3 w - d6 0 1",          // En passant would uncover the king along the rank
+                "8/8/8/2k5/3Pp3/8/8/4K3 b - d3 0 1",          // En passant captures the checking pawn
+                "4k3/4b3/8/2Pp4/8/K7/8/8 w - d6 0 1"          // Pinned pawn may capture en passant along the pin
+        };
+        for (String fen : fens) {
+            assertTreeMatches(Fen.toGame(fen), 3, fen);
+        }
+    }
+
+
+    @Test
+    @DisplayName("Matches Make/Unmake Through Random Games")
+    public void matchesThroughRandomGames() {
+        var random = new Random(17);
+        var moves = new MoveList();
+        for (int gameNumber = 0; gameNumber < 40; gameNumber++) {
+            ChessGame game = Fen.toGame(Fen.START);
+            for (int ply = 0; ply < 150; ply++) {
+                assertSameMoves(game, "game " + gameNumber + " ply " + ply);
+                moves.clear();
+                game.legalMoves(moves);
+                if (moves.isEmpty()) break;
+                game.makeMove(moves.get(random.nextInt(moves.size())));
+            }
+        }
+    }
+
+
+    @Test
+    @DisplayName("Single Move Legality Agrees With Generation")
+    public void isLegalAgrees() {
+        for (Perft.ReferencePosition position : Perft.REFERENCE_POSITIONS) {
+            assertLegalityMatches(Fen.toGame(position.fen()), 1);
+        }
+        for (String fen : new String[]{
+                "4k3/8/8/8/4r3/8/4R3/4K3 w - - 0 1",
+                "4k3/8/8/8/1b6/8/2P1N3/4K3 w - - 0 1",
+                "4k3/8/8/8/4r3/8/3n4/4K3 w - - 0 1",
+                "1r2k3/P7/8/8/8/8/8/4K3 w - - 0 1"}) {
+            assertLegalityMatches(Fen.toGame(fen), 2);
+        }
+    }
+
+
+    @Test
+    @DisplayName("Any Legal Move Finds Mates And Stalemates")
+    public void anyLegalMove() {
+        ChessGame mate = Fen.toGame("rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3");
+        Assertions.assertFalse(mate.hasAnyLegalMove());
+        Assertions.assertTrue(mate.isInCheckmate(ChessGame.TeamColor.WHITE));
+
+        ChessGame stalemate = Fen.toGame("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1");
+        Assertions.assertFalse(stalemate.hasAnyLegalMove());
+        Assertions.assertTrue(stalemate.isInStalemate(ChessGame.TeamColor.BLACK));
+
+        // The king is boxed in, so only the knight's capture of the checker gets out of check
+        ChessGame escape = Fen.toGame("6k1/8/8/8/8/3N4/6PP/4r2K w - - 0 1");
+        Assertions.assertTrue(escape.hasAnyLegalMove());
+        Assertions.assertFalse(escape.isInCheckmate(ChessGame.TeamColor.WHITE));
+    }
+
+
+    @Test
+    @DisplayName("Boards Without One King Fall Back To Make/Unmake")
+    public void noKingFallsBack() {
+        var game = new ChessGame();
+        game.getBoard().addPiece(new ChessPosition(1, 1), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        game.getBoard().addPiece(new ChessPosition(8, 8), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
+
+        var moves = new MoveList();
+        game.legalMoves(moves);
+        Assertions.assertEquals(14, moves.size());
+    }
+
+
+    private static void assertTreeMatches(ChessGame game, int depth, String name) {
+        assertSameMoves(game, name);
+        if (depth == 0) return;
+        var moves = new MoveList();
+        game.legalMoves(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            game.makeMove(moves.get(i));
+            assertTreeMatches(game, depth - 1, name);
+            game.unmakeMove();
+        }
+    }
+
+    // Tries every start and end square of the side to move, with and without a promotion piece
+    private static void assertLegalityMatches(ChessGame game, int depth) {
+        var legal = new MoveList();
+        game.legalMoves(legal);
+        MoveCollection moves = MoveCollection.copyOf(legal);
+        ChessPiece.PieceType[] promotions = {null, ChessPiece.PieceType.QUEEN, ChessPiece.PieceType.KNIGHT, ChessPiece.PieceType.KING};
+        for (int from = 0; from < 64; from++) {
+            ChessPiece piece = game.getBoard().getBitboards().pieceAt(from);
+            if (piece == null || piece.getTeamColor() != game.getTeamTurn()) continue;
+            for (int to = 0; to < 64; to++) {
+                for (ChessPiece.PieceType promotion : promotions) {
+                    var move = new ChessMove(ChessPosition.ofSquare(from), ChessPosition.ofSquare(to), promotion);
+                    Assertions.assertEquals(moves.contains(move), game.isLegal(move), move.toString());
+                }
+            }
+        }
+        Assertions.assertFalse(game.isLegal(new ChessMove(new ChessPosition(1, 1), new ChessPosition(0, 1), null)));
+
+        if (depth <= 1) return;
+        for (int i = 0; i < legal.size(); i++) {
+            game.makeMove(legal.get(i));
+            assertLegalityMatches(game, depth - 1);
+            game.unmakeMove();
+        }
+    }
+
+    private static void assertSameMoves(ChessGame game, String name) {
+        var expected = new MoveList();
+        game.legalMovesByMakeUnmake(expected);
+        var actual = new MoveList();
+        LegalMoveGenerator.generate(game.getBoard(), game.getTeamTurn(), actual);
+        Assertions.assertArrayEquals(expected.toArray(), actual.toArray(), name);
+        Assertions.assertEquals(!expected.isEmpty(), game.hasAnyLegalMove(), name);
+    }
+}
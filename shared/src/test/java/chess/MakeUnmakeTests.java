@@ -0,0 +1,145 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static passoff.chess.TestUtilities.loadBoard;
+
+public class MakeUnmakeTests {
+
+    private static final String BOARD = """
+            | | | | |k| | | |
+            | |P| | | | | | |
+            | | | | | | | | |
+            | | | |p| | | | |
+            | | | | | | | | |
+            | | |N| | | | | |
+            | | | | | | | | |
+            | | | | |K| | | |
+            """;
+
+    @Test
+    @DisplayName("Unmake Restores Capture")
+    public void unmakeRestoresCapture() {
+        var board = loadBoard(BOARD);
+        board.makeMove(new ChessMove(new ChessPosition(3, 3), new ChessPosition(5, 4), null));
+
+        Assertions.assertEquals(new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT),
+                board.getPiece(new ChessPosition(5, 4)));
+        Assertions.assertNull(board.getPiece(new ChessPosition(3, 3)));
+
+        board.unmakeMove();
+        Assertions.assertEquals(loadBoard(BOARD), board);
+        Assertions.assertEquals(BitboardPosition.fromBoard(board), board.getBitboards());
+    }
+
+
+    @Test
+    @DisplayName("Unmake Restores Promoted Pawn")
+    public void unmakeRestoresPromotion() {
+        var board = loadBoard(BOARD);
+        board.makeMove(new ChessMove(new ChessPosition(7, 2), new ChessPosition(8, 2), ChessPiece.PieceType.QUEEN));
+        board.makeMove(new ChessMove(new ChessPosition(8, 5), new ChessPosition(7, 5), null));
+
+        Assertions.assertEquals(new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN),
+                board.getPiece(new ChessPosition(8, 2)));
+
+        board.unmakeMove();
+        board.unmakeMove();
+        Assertions.assertEquals(loadBoard(BOARD), board);
+        Assertions.assertEquals(BitboardPosition.fromBoard(board), board.getBitboards());
+        Assertions.assertThrows(IllegalStateException.class, board::unmakeMove);
+    }
+
+
+    @Test
+    @DisplayName("Reset Forgets Moves Made Before It")
+    public void resetClearsUndo() {
+        var board = loadBoard(BOARD);
+        board.makeMove(new ChessMove(new ChessPosition(7, 2), new ChessPosition(8, 2), ChessPiece.PieceType.QUEEN));
+        board.resetBoard();
+
+        Assertions.assertThrows(IllegalStateException.class, board::unmakeMove);
+        ChessBoard start = new ChessBoard();
+        start.resetBoard();
+        Assertions.assertEquals(start, board);
+    }
+
+
+    @Test
+    @DisplayName("Game Unmake Restores Turn")
+    public void gameUnmakeRestoresTurn() throws InvalidMoveException {
+        var game = new ChessGame();
+        game.setBoard(loadBoard(BOARD));
+        game.makeMove(new ChessMove(new ChessPosition(1, 5), new ChessPosition(2, 5), null));
+
+        Assertions.assertEquals(ChessGame.TeamColor.BLACK, game.getTeamTurn());
+        game.unmakeMove();
+        Assertions.assertEquals(ChessGame.TeamColor.WHITE, game.getTeamTurn());
+        Assertions.assertEquals(loadBoard(BOARD), game.getBoard());
+    }
+
+
+    @Test
+    @DisplayName("Castling Moves The Rook And Unmake Restores Rights")
+    public void castlingMakeUnmake() {
+        var game = Fen.toGame("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        var board = game.getBoard();
+        long key = game.getPositionKey();
+
+        game.makeMove(PackedMove.fromChessMove(new ChessMove(new ChessPosition(1, 5), new ChessPosition(1, 3), null)));
+        Assertions.assertEquals(new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK),
+                board.getPiece(new ChessPosition(1, 4)));
+        Assertions.assertNull(board.getPiece(new ChessPosition(1, 1)));
+        Assertions.assertEquals(ChessBoard.BLACK_KINGSIDE | ChessBoard.BLACK_QUEENSIDE, board.getCastlingRights());
+
+        // Capturing a rook on its starting square takes away that side's right
+        game.makeMove(PackedMove.fromChessMove(new ChessMove(new ChessPosition(8, 8), new ChessPosition(1, 8), null)));
+        Assertions.assertEquals(ChessBoard.BLACK_QUEENSIDE, board.getCastlingRights());
+
+        game.unmakeMove();
+        game.unmakeMove();
+        Assertions.assertEquals(Fen.toGame("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1").getBoard(), board);
+        Assertions.assertEquals(ChessBoard.ALL_CASTLING, board.getCastlingRights());
+        Assertions.assertEquals(key, game.getPositionKey());
+        Assertions.assertEquals(BitboardPosition.fromBoard(board), board.getBitboards());
+    }
+
+
+    @Test
+    @DisplayName("En Passant Removes The Passed Pawn And Unmake Restores It")
+    public void enPassantMakeUnmake() {
+        var game = Fen.toGame("4k3/2p5/8/1P6/8/8/8/4K3 b - - 0 1");
+        var board = game.getBoard();
+        long before = game.getPositionKey();
+
+        game.makeMove(PackedMove.fromChessMove(new ChessMove(new ChessPosition(7, 3), new ChessPosition(5, 3), null)));
+        Assertions.assertEquals(BitboardPosition.squareOf(6, 3), board.getEnPassantSquare());
+        long afterPush = game.getPositionKey();
+        Assertions.assertNotEquals(afterPush, Fen.toGame("4k3/8/8/1Pp5/8/8/8/4K3 w - - 0 1").getPositionKey(),
+                "A capturable en passant square is part of the key");
+
+        game.makeMove(PackedMove.fromChessMove(new ChessMove(new ChessPosition(5, 2), new ChessPosition(6, 3), null)));
+        Assertions.assertNull(board.getPiece(new ChessPosition(5, 3)));
+        Assertions.assertEquals(-1, board.getEnPassantSquare());
+
+        game.unmakeMove();
+        Assertions.assertEquals(new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN),
+                board.getPiece(new ChessPosition(5, 3)));
+        Assertions.assertEquals(afterPush, game.getPositionKey());
+        game.unmakeMove();
+        Assertions.assertEquals(before, game.getPositionKey());
+        Assertions.assertEquals(BitboardPosition.fromBoard(board), board.getBitboards());
+    }
+
+
+    @Test
+    @DisplayName("En Passant Square Only Counts When A Pawn Can Take")
+    public void enPassantKeyOnlyWhenCapturable() {
+        Assertions.assertEquals(Fen.toGame("4k3/8/8/8/4P3/8/8/4K3 b - - 0 1").getPositionKey(),
+                Fen.toGame("4k3/8/8/8/4P3/8/8/4K3 b - e3 0 1").getPositionKey());
+        Assertions.assertNotEquals(Fen.toGame("4k3/8/8/8/3pP3/8/8/4K3 b - - 0 1").getPositionKey(),
+                Fen.toGame("4k3/8/8/8/3pP3/8/8/4K3 b - e3 0 1").getPositionKey());
+    }
+}
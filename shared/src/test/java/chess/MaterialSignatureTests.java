@@ -0,0 +1,54 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class MaterialSignatureTests {
+
+    @Test
+    @DisplayName("Signature Counts Each Piece")
+    public void countsPieces() {
+        long signature = Fen.toGame(Fen.START).getBoard().getMaterialSignature();
+        Assertions.assertEquals(MaterialSignature.of("KQRRBBNNPPPPPPPPkqrrbbnnpppppppp"), signature);
+        Assertions.assertEquals(8, MaterialSignature.count(signature, ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+        Assertions.assertEquals(1, MaterialSignature.count(signature, ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN));
+        Assertions.assertEquals(MaterialSignature.of("KRk"), Fen.toGame("4k3/8/8/8/8/8/8/R3K3 w - - 0 1").getBoard().getMaterialSignature());
+        Assertions.assertNotEquals(MaterialSignature.of("KRk"), MaterialSignature.of("Kkr"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MaterialSignature.of("Kx"));
+    }
+
+
+    @Test
+    @DisplayName("Signature Follows Captures, Promotions And Take Backs")
+    public void followsMoves() throws InvalidMoveException {
+        ChessGame game = Fen.toGame("1n2k3/P7/8/8/8/8/8/4K3 w - - 0 1");
+        long before = game.getBoard().getMaterialSignature();
+        game.makeMove(new ChessMove(new ChessPosition(7, 1), new ChessPosition(8, 2), ChessPiece.PieceType.QUEEN));
+        Assertions.assertEquals(MaterialSignature.of("KQk"), game.getBoard().getMaterialSignature());
+        game.unmakeMove();
+        Assertions.assertEquals(before, game.getBoard().getMaterialSignature());
+
+        game.getBoard().resetBoard();
+        Assertions.assertEquals(Fen.toGame(Fen.START).getBoard().getMaterialSignature(), game.getBoard().getMaterialSignature());
+    }
+
+
+    @Test
+    @DisplayName("Insufficient Material")
+    public void insufficientMaterial() {
+        Assertions.assertTrue(Fen.toGame("4k3/8/8/8/8/8/8/4K3 w - - 0 1").isInsufficientMaterial(), "K v K");
+        Assertions.assertTrue(Fen.toGame("4k3/8/8/8/8/8/8/2B1K3 w - - 0 1").isInsufficientMaterial(), "KB v K");
+        Assertions.assertTrue(Fen.toGame("4k3/8/8/8/8/8/8/1N2K3 b - - 0 1").isInsufficientMaterial(), "KN v K");
+        Assertions.assertTrue(Fen.toGame("2b1k3/8/8/8/8/8/8/3BK3 w - - 0 1").isInsufficientMaterial(), "Bishops on light squares");
+        Assertions.assertTrue(Fen.toGame("4k3/8/8/8/8/8/1B6/2B1K3 w - - 0 1").isInsufficientMaterial(), "Bishops on dark squares");
+
+        Assertions.assertFalse(Fen.toGame(Fen.START).isInsufficientMaterial());
+        Assertions.assertFalse(Fen.toGame("4k3/8/8/8/8/8/8/2B1KB2 w - - 0 1").isInsufficientMaterial(), "Bishop pair");
+        Assertions.assertFalse(Fen.toGame("4kb2/8/8/8/8/8/8/3BK3 w - - 0 1").isInsufficientMaterial(), "Opposite bishops");
+        Assertions.assertFalse(Fen.toGame("4kn2/8/8/8/8/8/8/2B1K3 w - - 0 1").isInsufficientMaterial(), "KB v KN");
+        Assertions.assertFalse(Fen.toGame("4k3/8/8/8/8/8/8/1NN1K3 w - - 0 1").isInsufficientMaterial(), "Two knights");
+        Assertions.assertFalse(Fen.toGame("4k3/8/8/8/8/8/P7/4K3 w - - 0 1").isInsufficientMaterial(), "Pawn");
+        Assertions.assertFalse(Fen.toGame("4k3/8/8/8/8/8/8/R3K3 w - - 0 1").isInsufficientMaterial(), "Rook");
+    }
+}
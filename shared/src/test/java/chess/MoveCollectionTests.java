@@ -0,0 +1,97 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class MoveCollectionTests {
+
+    @Test
+    @DisplayName("Keeps Generation Order And Set Semantics")
+    public void orderAndSetSemantics() {
+        var list = new MoveList();
+        list.add(PackedMove.encode(BitboardPosition.squareOf(2, 5), BitboardPosition.squareOf(4, 5), PackedMove.DOUBLE_PUSH));
+        list.add(PackedMove.encode(BitboardPosition.squareOf(2, 5), BitboardPosition.squareOf(3, 5), 0));
+        var moves = MoveCollection.copyOf(list);
+        list.clear();
+
+        var doublePush = new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null);
+        var singlePush = new ChessMove(new ChessPosition(2, 5), new ChessPosition(3, 5), null);
+        Assertions.assertEquals(List.of(doublePush, singlePush), new ArrayList<>(moves));
+        Assertions.assertEquals(Set.of(singlePush, doublePush), moves);
+        Assertions.assertEquals(moves, Set.of(singlePush, doublePush));
+
+        Assertions.assertTrue(moves.contains(singlePush));
+        Assertions.assertFalse(moves.contains(new ChessMove(new ChessPosition(2, 5), new ChessPosition(3, 5), ChessPiece.PieceType.QUEEN)));
+        Assertions.assertFalse(moves.contains(new ChessMove(new ChessPosition(2, 5), new ChessPosition(9, 5), null)));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> moves.add(singlePush));
+    }
+
+
+    @Test
+    @DisplayName("Valid Moves Are Deterministic")
+    public void validMovesDeterministic() {
+        var game = new ChessGame();
+        var board = new ChessBoard();
+        board.resetBoard();
+        game.setBoard(board);
+
+        var first = new ArrayList<>(game.validMoveCollection(new ChessPosition(1, 2)));
+        var second = new ArrayList<>(game.validMoveCollection(new ChessPosition(1, 2)));
+        Assertions.assertEquals(2, first.size());
+        Assertions.assertEquals(first, second);
+        Assertions.assertTrue(game.validMoveCollection(new ChessPosition(8, 2)).isEmpty(), "Not black's turn");
+    }
+
+
+    @Test
+    @DisplayName("Collection Methods Keep The Mutable Results")
+    public void collectionContractKept() {
+        var game = Fen.toGame(Fen.START);
+        var knight = new ChessPosition(1, 2);
+        var board = game.getBoard();
+
+        var validMoves = game.validMoves(knight);
+        Assertions.assertEquals(game.validMoveCollection(knight), validMoves);
+        Assertions.assertTrue(validMoves.removeIf(move -> move.getEndPosition().getColumn() == 1));
+        Assertions.assertEquals(1, validMoves.size());
+        Assertions.assertEquals(2, game.validMoves(knight).size(), "Changing a result does not change the game");
+        Assertions.assertTrue(game.validMoves(new ChessPosition(8, 2)).add(
+                new ChessMove(new ChessPosition(8, 2), new ChessPosition(6, 3), null)));
+
+        var pieceMoves = board.getPiece(knight).pieceMoves(board, knight);
+        Assertions.assertEquals(board.getPiece(knight).pieceMoveCollection(board, knight), pieceMoves);
+        pieceMoves.clear();
+        Assertions.assertTrue(pieceMoves.isEmpty());
+    }
+
+
+    @Test
+    @DisplayName("All Valid Moves Match Per-Square Queries")
+    public void allValidMovesMatchPerSquare() {
+        var game = Fen.toGame(Perft.referencePosition("position4").fen());
+        MoveCollection all = game.allValidMoves(ChessGame.TeamColor.WHITE);
+        Assertions.assertEquals(6, all.size());
+
+        int total = 0;
+        int lastSquare = -1;
+        for (int i = 0; i < all.size(); i++) {
+            int square = PackedMove.from(all.getPacked(i));
+            Assertions.assertTrue(square >= lastSquare, "Grouped by start square");
+            lastSquare = square;
+        }
+        for (int row = 1; row <= 8; row++) {
+            for (int col = 1; col <= 8; col++) {
+                var position = new ChessPosition(row, col);
+                Assertions.assertEquals(new ArrayList<>(game.validMoveCollection(position)), new ArrayList<>(all.movesFrom(position)));
+                total += all.movesFrom(position).size();
+            }
+        }
+        Assertions.assertEquals(all.size(), total);
+        Assertions.assertTrue(game.allValidMoves(ChessGame.TeamColor.BLACK).isEmpty(), "Not black's turn");
+    }
+}
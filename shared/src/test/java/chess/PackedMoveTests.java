@@ -0,0 +1,71 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+
+public class PackedMoveTests {
+
+    @Test
+    @DisplayName("Encoding Round Trip")
+    public void encodingRoundTrip() {
+        var chessMove = new ChessMove(new ChessPosition(7, 3), new ChessPosition(8, 4), ChessPiece.PieceType.KNIGHT);
+        int move = PackedMove.encode(BitboardPosition.squareOf(7, 3), BitboardPosition.squareOf(8, 4),
+                ChessPiece.PieceType.KNIGHT, PackedMove.CAPTURE);
+
+        Assertions.assertEquals(BitboardPosition.squareOf(7, 3), PackedMove.from(move));
+        Assertions.assertEquals(BitboardPosition.squareOf(8, 4), PackedMove.to(move));
+        Assertions.assertEquals(ChessPiece.PieceType.KNIGHT, PackedMove.promotion(move));
+        Assertions.assertTrue(PackedMove.hasFlag(move, PackedMove.CAPTURE));
+        Assertions.assertFalse(PackedMove.hasFlag(move, PackedMove.DOUBLE_PUSH));
+        Assertions.assertEquals(chessMove, PackedMove.toChessMove(move));
+        Assertions.assertTrue(PackedMove.sameMove(move, PackedMove.fromChessMove(chessMove)));
+    }
+
+
+    @Test
+    @DisplayName("Move List Grows And Reuses Storage")
+    public void moveListGrows() {
+        var moves = new MoveList(2);
+        for (int i = 0; i < 100; i++) {
+            moves.add(PackedMove.encode(i % 64, (i + 1) % 64, 0));
+        }
+        Assertions.assertEquals(100, moves.size());
+        Assertions.assertEquals(PackedMove.encode(40, 41, 0), moves.get(40));
+        Assertions.assertTrue(moves.contains(PackedMove.encode(63, 0, PackedMove.CAPTURE)));
+
+        moves.clear();
+        Assertions.assertTrue(moves.isEmpty());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> moves.get(0));
+    }
+
+
+    @Test
+    @DisplayName("Packed Overload Matches Collection Moves")
+    public void packedOverloadMatches() {
+        var board = new ChessBoard();
+        board.resetBoard();
+        board.makeMove(new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null));
+        board.makeMove(new ChessMove(new ChessPosition(7, 4), new ChessPosition(5, 4), null));
+
+        var moves = new MoveList();
+        for (int row = 1; row <= 8; row++) {
+            for (int col = 1; col <= 8; col++) {
+                var position = new ChessPosition(row, col);
+                var piece = board.getPiece(position);
+                if (piece == null) continue;
+
+                moves.clear();
+                piece.pieceMoves(board, position, moves);
+                var unpacked = new HashSet<ChessMove>();
+                for (int i = 0; i < moves.size(); i++) {
+                    unpacked.add(PackedMove.toChessMove(moves.get(i)));
+                }
+                Assertions.assertEquals(new HashSet<>(piece.pieceMoves(board, position)), unpacked);
+                Assertions.assertEquals(unpacked.size(), moves.size(), "Duplicate packed move");
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class PerftTests {
+
+    @Test
+    @DisplayName("Start Position FEN")
+    public void startPositionFen() {
+        var expected = new ChessBoard();
+        expected.resetBoard();
+        var game = Fen.toGame(Fen.START);
+
+        Assertions.assertEquals(expected, game.getBoard());
+        Assertions.assertEquals(ChessGame.TeamColor.WHITE, game.getTeamTurn());
+        Assertions.assertEquals(ChessGame.TeamColor.BLACK, Fen.toGame("8/8/8/8/8/8/8/k6K b - - 0 1").getTeamTurn());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Fen.toGame("8/8/8/8/8/8/8/k6K"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Fen.toGame("8/8/8/8/8/8/9/k6K w - - 0 1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Fen.toGame("8/8/8/8/8/8/8/k6K w X - 0 1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Fen.toGame("8/8/8/8/8/8/8/k6K w - e4 0 1"));
+
+        var afterE4 = Fen.toGame("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b Kq e3 0 1").getBoard();
+        Assertions.assertEquals(ChessBoard.WHITE_KINGSIDE | ChessBoard.BLACK_QUEENSIDE, afterE4.getCastlingRights());
+        Assertions.assertEquals(BitboardPosition.squareOf(3, 5), afterE4.getEnPassantSquare());
+    }
+
+
+    @Test
+    @DisplayName("Start Position")
+    public void startPosition() {
+        assertPerft("start", 4);
+    }
+
+
+    @Test
+    @DisplayName("Kiwipete")
+    public void kiwipete() {
+        // Castling both ways for both sides, en passant and promotions all come up by depth 3
+        assertPerft("kiwipete", 3);
+    }
+
+
+    @Test
+    @DisplayName("Position 3")
+    public void position3() {
+        // Includes en passant captures that would uncover a rook check along the rank
+        assertPerft("position3", 4);
+    }
+
+
+    @Test
+    @DisplayName("Position 4")
+    public void position4() {
+        assertPerft("position4", 3);
+    }
+
+
+    @Test
+    @DisplayName("Position 5")
+    public void position5() {
+        assertPerft("position5", 3);
+    }
+
+
+    @Test
+    @DisplayName("Position 6")
+    public void position6() {
+        assertPerft("position6", 3);
+    }
+
+
+    @Test
+    @DisplayName("Divide Adds Up To Perft")
+    public void divideAddsUp() {
+        var game = Fen.toGame(Fen.START);
+        game.makeMove(PackedMove.fromChessMove(new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null)));
+        var divide = Perft.divide(game, 3);
+
+        Assertions.assertEquals(20, divide.size());
+        Assertions.assertEquals(Perft.perft(game, 3), divide.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    private static void assertPerft(String name, int maxDepth) {
+        var position = Perft.referencePosition(name);
+        var game = Fen.toGame(position.fen());
+        var before = Fen.toGame(position.fen()).getBoard();
+        long key = game.getPositionKey();
+
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            Assertions.assertEquals(position.nodes()[depth - 1], Perft.perft(game, depth), name + " at depth " + depth);
+        }
+        Assertions.assertEquals(before, game.getBoard(), "Perft left the board changed");
+        Assertions.assertEquals(key, game.getPositionKey(), "Perft left castling rights or en passant changed");
+    }
+}
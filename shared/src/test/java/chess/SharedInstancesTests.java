@@ -0,0 +1,34 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SharedInstancesTests {
+
+    @Test
+    @DisplayName("Factories Return Shared Instances")
+    public void factoriesReturnSharedInstances() {
+        Assertions.assertSame(ChessPosition.of(3, 6), ChessPosition.of(3, 6));
+        Assertions.assertSame(ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT),
+                ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
+        Assertions.assertSame(ChessMove.of(ChessPosition.of(7, 2), ChessPosition.of(8, 2), ChessPiece.PieceType.ROOK),
+                ChessMove.of(new ChessPosition(7, 2), new ChessPosition(8, 2), ChessPiece.PieceType.ROOK));
+        Assertions.assertNotSame(ChessMove.of(ChessPosition.of(7, 2), ChessPosition.of(8, 2), ChessPiece.PieceType.ROOK),
+                ChessMove.of(ChessPosition.of(7, 2), ChessPosition.of(8, 2), null));
+    }
+
+
+    @Test
+    @DisplayName("Shared Instances Equal Constructed Ones")
+    public void sharedEqualsConstructed() {
+        Assertions.assertEquals(new ChessPosition(1, 8), ChessPosition.of(1, 8));
+        Assertions.assertEquals(new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN),
+                ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+        Assertions.assertEquals(new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null),
+                ChessMove.of(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null));
+
+        // Off-board positions are still representable, just not shared
+        Assertions.assertEquals(new ChessPosition(9, 1), ChessPosition.of(9, 1));
+    }
+}
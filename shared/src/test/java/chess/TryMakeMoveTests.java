@@ -0,0 +1,60 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TryMakeMoveTests {
+
+    @Test
+    @DisplayName("Each Rejection Has Its Reason")
+    public void rejectionReasons() {
+        // The white rook on e2 is pinned by the black rook on e4
+        ChessGame game = Fen.toGame("4k3/8/8/8/4r3/8/4R3/4K3 w - - 0 1");
+        long key = game.getPositionKey();
+
+        Assertions.assertEquals(MoveResult.OFF_BOARD, game.tryMakeMove(move(2, 5, 9, 5)));
+        Assertions.assertEquals(MoveResult.NO_PIECE, game.tryMakeMove(move(3, 3, 4, 3)));
+        Assertions.assertEquals(MoveResult.NOT_YOUR_TURN, game.tryMakeMove(move(4, 5, 3, 5)));
+        Assertions.assertEquals(MoveResult.ILLEGAL_MOVE, game.tryMakeMove(move(2, 5, 3, 6)));
+        Assertions.assertEquals(MoveResult.KING_IN_CHECK, game.tryMakeMove(move(2, 5, 2, 1)));
+        Assertions.assertEquals(key, game.getPositionKey(), "Rejected moves leave the game alone");
+        Assertions.assertEquals(ChessGame.TeamColor.WHITE, game.getTeamTurn());
+
+        Assertions.assertEquals(MoveResult.OK, game.tryMakeMove(move(2, 5, 4, 5)));
+        Assertions.assertEquals(ChessGame.TeamColor.BLACK, game.getTeamTurn());
+    }
+
+
+    @Test
+    @DisplayName("Promotion Must Match The Last Rank")
+    public void promotionRules() {
+        ChessGame game = Fen.toGame("4k3/P7/8/8/8/8/1P6/4K3 w - - 0 1");
+        Assertions.assertEquals(MoveResult.ILLEGAL_MOVE, game.tryMakeMove(move(7, 1, 8, 1)));
+        Assertions.assertEquals(MoveResult.ILLEGAL_MOVE,
+                game.tryMakeMove(new ChessMove(new ChessPosition(7, 1), new ChessPosition(8, 1), ChessPiece.PieceType.KING)));
+        Assertions.assertEquals(MoveResult.ILLEGAL_MOVE,
+                game.tryMakeMove(new ChessMove(new ChessPosition(2, 2), new ChessPosition(3, 2), ChessPiece.PieceType.QUEEN)));
+        Assertions.assertEquals(MoveResult.OK,
+                game.tryMakeMove(new ChessMove(new ChessPosition(7, 1), new ChessPosition(8, 1), ChessPiece.PieceType.KNIGHT)));
+    }
+
+
+    @Test
+    @DisplayName("Throwing API Reports The Reason Without A Stack Trace")
+    public void throwingApi() {
+        ChessGame game = Fen.toGame(Fen.START);
+        InvalidMoveException exception = Assertions.assertThrows(InvalidMoveException.class,
+                () -> game.makeMove(move(2, 5, 5, 5)));
+        Assertions.assertEquals(MoveResult.ILLEGAL_MOVE, exception.getReason());
+        Assertions.assertEquals(MoveResult.ILLEGAL_MOVE.getMessage(), exception.getMessage());
+        Assertions.assertEquals(0, exception.getStackTrace().length);
+
+        Assertions.assertNull(new InvalidMoveException("Invalid move").getReason());
+    }
+
+
+    private static ChessMove move(int startRow, int startCol, int endRow, int endCol) {
+        return new ChessMove(new ChessPosition(startRow, startCol), new ChessPosition(endRow, endCol), null);
+    }
+}
@@ -0,0 +1,56 @@
+package chess.engine;
+
+import chess.Fen;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class OffHeapTranspositionTableTests {
+
+    @Test
+    @DisplayName("Depth Preferred And Always Replace Slots")
+    public void replacementPolicy() {
+        try (var table = new OffHeapTranspositionTable(1)) {
+            Assertions.assertEquals(1024 * 1024, table.byteSize());
+            Assertions.assertEquals(65536, table.capacity());
+
+            long deep = 0x1111_0000_0000_0005L;
+            long shallow = deep + (1L << 40);
+            long newer = deep + (2L << 40);
+            table.store(deep, 10, 50, 8, TranspositionTable.EXACT);
+
+            // A shallower position in the same bucket goes to the always-replace slot
+            table.store(shallow, 20, 5, 2, TranspositionTable.LOWER);
+            Assertions.assertEquals(10, TranspositionTable.move(table.probe(deep)));
+            Assertions.assertEquals(20, TranspositionTable.move(table.probe(shallow)));
+
+            // ...and is pushed out by the next one, while the deep entry stays
+            table.store(newer, 30, 0, 1, TranspositionTable.UPPER);
+            Assertions.assertEquals(0, table.probe(shallow));
+            Assertions.assertEquals(30, TranspositionTable.move(table.probe(newer)));
+            Assertions.assertEquals(8, TranspositionTable.depth(table.probe(deep)));
+
+            // Once a new search starts, the old deep entry can be replaced by anything
+            table.newSearch();
+            table.store(shallow, 40, 0, 1, TranspositionTable.EXACT);
+            Assertions.assertEquals(0, table.probe(deep));
+            Assertions.assertEquals(40, TranspositionTable.move(table.probe(shallow)));
+            Assertions.assertEquals(1, TranspositionTable.generation(table.probe(shallow)));
+
+            table.clear();
+            Assertions.assertEquals(0, table.probe(newer));
+        }
+    }
+
+
+    @Test
+    @DisplayName("Search With Off-Heap Table")
+    public void searchWithOffHeapTable() {
+        var table = new OffHeapTranspositionTable(4);
+        try (table) {
+            var result = new ParallelSearch(2, table).search(Fen.toGame("7k/8/8/8/8/8/R7/1R4K1 w - - 0 1"), SearchLimits.depth(5));
+            Assertions.assertEquals(Search.MATE - 3, result.score());
+        }
+        Assertions.assertThrows(IllegalStateException.class, () -> table.probe(1));
+    }
+}
@@ -0,0 +1,111 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.Fen;
+import chess.InvalidMoveException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SearchTests {
+
+    @Test
+    @DisplayName("Finds Mate In One")
+    public void findsMateInOne() {
+        // Back rank mate with Ra8
+        var game = Fen.toGame("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        var result = new Search().search(game, SearchLimits.depth(3));
+
+        Assertions.assertEquals(new ChessMove(new ChessPosition(1, 1), new ChessPosition(8, 1), null), result.bestMove());
+        Assertions.assertEquals(Search.MATE - 1, result.score());
+        Assertions.assertTrue(Search.isMateScore(result.score()));
+    }
+
+
+    @Test
+    @DisplayName("Finds Mate In Two")
+    public void findsMateInTwo() throws InvalidMoveException {
+        // The rooks ladder the king up the board: Rb7, then Ra8 mate
+        var game = Fen.toGame("7k/8/8/8/8/8/R7/1R4K1 w - - 0 1");
+        var result = new Search().search(game, SearchLimits.depth(5));
+
+        Assertions.assertEquals(Search.MATE - 3, result.score());
+        Assertions.assertEquals(3, result.principalVariation().size());
+
+        // The principal variation is a legal line that ends in mate
+        for (ChessMove move : result.principalVariation()) {
+            game.makeMove(move);
+        }
+        Assertions.assertTrue(game.isInCheckmate(ChessGame.TeamColor.BLACK));
+    }
+
+
+    @Test
+    @DisplayName("Wins Hanging Material")
+    public void winsHangingMaterial() {
+        var game = Fen.toGame("4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1");
+        var result = new Search().search(game, SearchLimits.depth(3));
+
+        Assertions.assertEquals(new ChessMove(new ChessPosition(2, 4), new ChessPosition(5, 4), null), result.bestMove());
+        Assertions.assertTrue(result.score() > 300, "Score " + result.score());
+    }
+
+
+    @Test
+    @DisplayName("Stops At The Node Limit")
+    public void stopsAtNodeLimit() {
+        var game = Fen.toGame(Fen.START);
+        var result = new Search().search(game, SearchLimits.nodes(2_000));
+
+        Assertions.assertNotNull(result.bestMove());
+        Assertions.assertTrue(result.nodes() <= 2_000);
+        Assertions.assertTrue(result.depth() < SearchLimits.MAX_DEPTH);
+        Assertions.assertEquals(Fen.toGame(Fen.START).getBoard(), game.getBoard(), "Search changed the game");
+    }
+
+
+    @Test
+    @DisplayName("Stopped First Iteration Keeps The Move's Score")
+    public void stoppedIterationScore() {
+        // Three queens up: the budget runs out in the first iteration, after some root moves are scored
+        var result = new Search().search(Fen.toGame("4k3/8/8/8/8/8/8/QQQ1K3 w - - 0 1"), SearchLimits.nodes(30));
+
+        Assertions.assertNotNull(result.bestMove());
+        Assertions.assertEquals(0, result.depth());
+        Assertions.assertTrue(result.score() > 2000, "Score " + result.score());
+    }
+
+
+    @Test
+    @DisplayName("Reports Game Over")
+    public void reportsGameOver() {
+        var mated = Fen.toGame("R5k1/5ppp/8/8/8/8/8/6K1 b - - 0 1");
+        var result = new Search().search(mated, SearchLimits.depth(2));
+        Assertions.assertNull(result.bestMove());
+        Assertions.assertEquals(-Search.MATE, result.score());
+
+        var stalemated = Fen.toGame("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1");
+        result = new Search().search(stalemated, SearchLimits.depth(2));
+        Assertions.assertNull(result.bestMove());
+        Assertions.assertEquals(0, result.score());
+    }
+
+
+    @Test
+    @DisplayName("Parallel Search Agrees With Single Thread")
+    public void parallelSearch() {
+        var game = Fen.toGame("7k/8/8/8/8/8/R7/1R4K1 w - - 0 1");
+        var parallel = new ParallelSearch(4);
+        var result = parallel.search(game, SearchLimits.depth(5));
+
+        Assertions.assertEquals(Search.MATE - 3, result.score());
+        Assertions.assertTrue(result.nodes() > 0);
+
+        // The same instance can search again
+        var hanging = Fen.toGame("4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1");
+        Assertions.assertEquals(new ChessMove(new ChessPosition(2, 4), new ChessPosition(5, 4), null),
+                parallel.search(hanging, SearchLimits.depth(4)).bestMove());
+    }
+}
@@ -0,0 +1,49 @@
+package chess.engine;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TranspositionTableTests {
+
+    @Test
+    @DisplayName("Entry Packing Round Trip")
+    public void entryPacking() {
+        long entry = TranspositionTable.entry(0x7ABC, -Search.MATE + 7, 42, TranspositionTable.UPPER, 300);
+
+        Assertions.assertEquals(0x7ABC, TranspositionTable.move(entry));
+        Assertions.assertEquals(-Search.MATE + 7, TranspositionTable.score(entry));
+        Assertions.assertEquals(42, TranspositionTable.depth(entry));
+        Assertions.assertEquals(TranspositionTable.UPPER, TranspositionTable.bound(entry));
+        Assertions.assertEquals(300 & 0xFF, TranspositionTable.generation(entry));
+        Assertions.assertEquals(Search.MATE, TranspositionTable.score(TranspositionTable.entry(0, Search.MATE, 0, 1, 0)));
+    }
+
+
+    @Test
+    @DisplayName("Shared Table Store And Probe")
+    public void sharedTableStoreAndProbe() {
+        var table = new SharedTranspositionTable(1000);
+        Assertions.assertEquals(1024, table.capacity());
+        long key = 0x1234_5678_9ABC_DEF0L;
+        Assertions.assertEquals(0, table.probe(key));
+
+        table.store(key, 100, 35, 6, TranspositionTable.EXACT);
+        long entry = table.probe(key);
+        Assertions.assertEquals(100, TranspositionTable.move(entry));
+        Assertions.assertEquals(35, TranspositionTable.score(entry));
+
+        // A shallower result for the same position does not replace a deeper one
+        table.store(key, 200, -10, 3, TranspositionTable.LOWER);
+        Assertions.assertEquals(6, TranspositionTable.depth(table.probe(key)));
+
+        // A different position in the same slot does, and the old key then misses
+        long otherKey = key + 1024;
+        table.store(otherKey, 300, 0, 1, TranspositionTable.UPPER);
+        Assertions.assertEquals(0, table.probe(key));
+        Assertions.assertEquals(300, TranspositionTable.move(table.probe(otherKey)));
+
+        table.clear();
+        Assertions.assertEquals(0, table.probe(otherKey));
+    }
+}
@@ -0,0 +1,76 @@
+package chess.validmovescalculator;
+
+import chess.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * Checks the table-driven sliding calculators against the original one-square-at-a-time
+ * ray walkers in {@link CalculatorUtils} over a large corpus of random positions.
+ */
+public class SlidingMovesEquivalenceTests {
+
+    private static final int POSITIONS = 5000;
+
+    @Test
+    @DisplayName("Rook Moves Match Ray Walking")
+    public void rookMovesMatch() {
+        compareOnRandomBoards(ChessPiece.PieceType.ROOK, new RookValidMovesCalculator());
+    }
+
+    @Test
+    @DisplayName("Bishop Moves Match Ray Walking")
+    public void bishopMovesMatch() {
+        compareOnRandomBoards(ChessPiece.PieceType.BISHOP, new BishopValidMovesCalculator());
+    }
+
+    @Test
+    @DisplayName("Queen Moves Match Ray Walking")
+    public void queenMovesMatch() {
+        compareOnRandomBoards(ChessPiece.PieceType.QUEEN, new QueenValidMovesCalculator());
+    }
+
+    private void compareOnRandomBoards(ChessPiece.PieceType type, PieceMovesCalculator calculator) {
+        Random random = new Random(240);
+        ChessPiece.PieceType[] types = ChessPiece.PieceType.values();
+        ChessGame.TeamColor[] colors = ChessGame.TeamColor.values();
+
+        for (int i = 0; i < POSITIONS; i++) {
+            ChessBoard board = new ChessBoard();
+            int pieceCount = random.nextInt(33);
+            for (int j = 0; j < pieceCount; j++) {
+                board.addPiece(new ChessPosition(random.nextInt(8) + 1, random.nextInt(8) + 1),
+                        new ChessPiece(colors[random.nextInt(2)], types[random.nextInt(types.length)]));
+            }
+            ChessPosition position = new ChessPosition(random.nextInt(8) + 1, random.nextInt(8) + 1);
+            ChessPiece piece = new ChessPiece(colors[random.nextInt(2)], type);
+            board.addPiece(position, piece);
+
+            Assertions.assertEquals(rayWalkMoves(board, position, piece),
+                    new HashSet<>(calculator.pieceMoves(board, position)),
+                    "Sliding moves differ for " + piece + " at " + position + " on " + board);
+        }
+    }
+
+    private HashSet<ChessMove> rayWalkMoves(ChessBoard board, ChessPosition position, ChessPiece piece) {
+        ChessGame.TeamColor color = piece.getTeamColor();
+        HashSet<ChessMove> moves = new HashSet<>();
+        if (piece.getPieceType() != ChessPiece.PieceType.BISHOP) {
+            CalculatorUtils.calculateUpwardMoves(board, position, color, moves, 8);
+            CalculatorUtils.calculateDownwardMoves(board, position, color, moves, 8);
+            CalculatorUtils.calculateLeftMoves(board, position, color, moves, 8);
+            CalculatorUtils.calculateRightMoves(board, position, color, moves, 8);
+        }
+        if (piece.getPieceType() != ChessPiece.PieceType.ROOK) {
+            CalculatorUtils.calculateUpperLeftMoves(board, position, color, moves, 8);
+            CalculatorUtils.calculateUpperRightMoves(board, position, color, moves, 8);
+            CalculatorUtils.calculateLowerLeftMoves(board, position, color, moves, 8);
+            CalculatorUtils.calculateLowerRightMoves(board, position, color, moves, 8);
+        }
+        return moves;
+    }
+}